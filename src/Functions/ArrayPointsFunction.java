@@ -0,0 +1,306 @@
+package Functions;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * The ArrayPointsFunction class is a {@link PointsFunction} whose points are kept sorted by x in arrays,
+ * for large sets of points.
+ * <p>
+ * The x-coordinates are also held in a double array, where a point is found by binary search corrected with exact
+ * comparisons, in O(log n) instead of the O(n) scan of {@link PointsFunction}. Whether the step is uniform and its
+ * value are found once on construction and kept up to date by {@link #addPoint(BigDecimal, BigDecimal)};
+ * on a uniform grid the index of x is computed in O(1) as (x - x0) / h.
+ * </p>
+ * <p>
+ * Unlike {@link PointsFunction}, x-coordinates are compared by value, so 1.0 and 1.00 are the same point.
+ * The lists of {@link #getXp()} and {@link #getYp()} are kept sorted as well and must only be changed through
+ * {@link #addPoint(BigDecimal, BigDecimal)}; points appended to them directly are picked up on the next lookup.
+ * </p>
+ */
+@SuppressWarnings("all")
+public class ArrayPointsFunction extends PointsFunction {
+    private BigDecimal[] xs;
+    private BigDecimal[] ys;
+
+    /**
+     * The x-coordinates as doubles, for the binary search
+     */
+    private double[] keys;
+
+    /**
+     * The number of points held by the arrays
+     */
+    private int size;
+
+    /**
+     * Whether every step xi+1 - xi equals step
+     */
+    private boolean uniform;
+
+    /**
+     * The step x1 - x0, null with less than two points
+     */
+    private BigDecimal step;
+
+    /**
+     * Constructs an ArrayPointsFunction with the given x and y coordinate lists, which are copied and sorted by x.
+     *
+     * @param xp The list of x-coordinates of the function points.
+     * @param yp The list of y-coordinates of the function points.
+     * @throws NullPointerException If xp or yp is null.
+     * @throws ArithmeticException  If the number of x and y coordinates does not match or x-coordinates are repeated.
+     */
+    public ArrayPointsFunction(ArrayList<BigDecimal> xp, ArrayList<BigDecimal> yp) {
+        this(sort(xp, yp));
+    }
+
+    /**
+     * Constructs an ArrayPointsFunction with the points of the given function.
+     *
+     * @param func {@link PointsFunction} object holding the points
+     * @throws ArithmeticException If the given function is null or x-coordinates are repeated.
+     */
+    public ArrayPointsFunction(PointsFunction func) {
+        this(sort(func == null ? null : func.getXp(), func == null ? null : func.getYp()));
+    }
+
+    private ArrayPointsFunction(Columns columns) {
+        super(columns.x, columns.y);
+        refresh();
+    }
+
+    /**
+     * The x and y columns of a point set, sorted together by x.
+     */
+    private static final class Columns {
+        private final ArrayList<BigDecimal> x;
+        private final ArrayList<BigDecimal> y;
+
+        private Columns(ArrayList<BigDecimal> x, ArrayList<BigDecimal> y) {
+            this.x = x;
+            this.y = y;
+        }
+    }
+
+    private static Columns sort(ArrayList<BigDecimal> xp, ArrayList<BigDecimal> yp) {
+        if (xp == null || yp == null)
+            throw new ArithmeticException("invalid inputs : points cannot be null");
+        if (xp.size() != yp.size())
+            throw new ArithmeticException("number of function points mismatch");
+        Integer[] order = new Integer[xp.size()];
+        for (int i = 0; i < order.length; i++)
+            order[i] = i;
+        Arrays.sort(order, (i, j) -> xp.get(i).compareTo(xp.get(j)));
+        ArrayList<BigDecimal> x = new ArrayList<>(order.length);
+        ArrayList<BigDecimal> y = new ArrayList<>(order.length);
+        for (int i : order) {
+            x.add(xp.get(i));
+            y.add(yp.get(i));
+        }
+        return new Columns(x, y);
+    }
+
+    /**
+     * Rebuilds the arrays and the step from the lists.
+     */
+    private void refresh() {
+        ArrayList<BigDecimal> xp = super.getXp();
+        ArrayList<BigDecimal> yp = super.getYp();
+        size = xp.size();
+        xs = xp.toArray(new BigDecimal[Math.max(size, 16)]);
+        ys = yp.toArray(new BigDecimal[Math.max(size, 16)]);
+        keys = new double[xs.length];
+        for (int i = 0; i < size; i++) {
+            if (i > 0 && xs[i].compareTo(xs[i - 1]) <= 0)
+                throw new ArithmeticException("invalid inputs : x points must be distinct and sorted");
+            keys[i] = xs[i].doubleValue();
+        }
+        updateStep();
+    }
+
+    private void updateStep() {
+        step = size < 2 ? null : xs[1].subtract(xs[0]);
+        uniform = true;
+        for (int i = 1; i < size - 1 && uniform; i++)
+            uniform = xs[i + 1].subtract(xs[i]).compareTo(step) == 0;
+    }
+
+    /**
+     * Picks up the points appended directly to the lists.
+     */
+    private void sync() {
+        if (size != super.getXp().size())
+            refresh();
+    }
+
+    /**
+     * Returns the position of x : its index if it is a point, otherwise -(insertion point) - 1.
+     */
+    private int search(BigDecimal x) {
+        sync();
+        if (size == 0)
+            return -1;
+        if (uniform && size > 1) {
+            // i = (x - x0) / h , exact on the grid
+            BigDecimal[] qr = x.subtract(xs[0]).divideAndRemainder(step);
+            if (qr[1].signum() == 0 && qr[0].signum() >= 0 && qr[0].compareTo(new BigDecimal(size)) < 0) {
+                int i = qr[0].intValueExact();
+                if (xs[i].compareTo(x) == 0)
+                    return i;
+            }
+        }
+        int p = Arrays.binarySearch(keys, 0, size, x.doubleValue());
+        // the greatest index whose key is <= x, then corrected exactly
+        int i = p >= 0 ? p : -p - 2;
+        i = Math.max(-1, Math.min(i, size - 1));
+        while (i >= 0 && xs[i].compareTo(x) > 0)
+            i--;
+        while (i < size - 1 && xs[i + 1].compareTo(x) <= 0)
+            i++;
+        if (i >= 0 && xs[i].compareTo(x) == 0)
+            return i;
+        return -(i + 1) - 1;
+    }
+
+    /**
+     * Returns the index of the given x-coordinate in O(log n), or O(1) on a uniform grid.
+     *
+     * @param x The x-coordinate to look for.
+     * @return The index of x, or -1 if x is not a point of the function.
+     */
+    @Override
+    public int indexOf(BigDecimal x) {
+        int i = search(x);
+        return i >= 0 ? i : -1;
+    }
+
+    /**
+     * Evaluates the value of the function at the given x-coordinate.
+     *
+     * @param x The x-coordinate at which to evaluate the function.
+     * @return The value of the function at the given x-coordinate.
+     * @throws ArithmeticException if x is not a point of the function
+     */
+    @Override
+    public BigDecimal getValueAt(BigDecimal x) {
+        int i = search(x);
+        if (i < 0)
+            throw new ArithmeticException("invalid inputs : element do not exist");
+        return ys[i];
+    }
+
+    /**
+     * Returns the y-coordinate at the given index.
+     *
+     * @param index The index of the point.
+     * @return The y-coordinate of the point.
+     */
+    @Override
+    public BigDecimal getValueAt(int index) {
+        sync();
+        if (index < 0 || index >= size)
+            throw new IndexOutOfBoundsException(index);
+        return ys[index];
+    }
+
+    /**
+     * Returns the x-coordinate at the given index.
+     *
+     * @param index The index of the point.
+     * @return The x-coordinate of the point.
+     */
+    @Override
+    public BigDecimal getX(int index) {
+        sync();
+        if (index < 0 || index >= size)
+            throw new IndexOutOfBoundsException(index);
+        return xs[index];
+    }
+
+    /**
+     * Returns the number of points of the function.
+     *
+     * @return The number of points.
+     */
+    @Override
+    public int size() {
+        sync();
+        return size;
+    }
+
+    /**
+     * Checks if the x-coordinates are equally spaced, in O(1).
+     *
+     * @return True if every step xi+1 - xi is the same, false otherwise.
+     */
+    @Override
+    public boolean isUniform() {
+        sync();
+        return uniform;
+    }
+
+    /**
+     * Returns the step h = x1 - x0 of the x-coordinates, in O(1).
+     *
+     * @return The step between the first two points.
+     * @throws ArithmeticException if the function has less than two points
+     */
+    @Override
+    public BigDecimal getStep() {
+        sync();
+        if (step == null)
+            throw new ArithmeticException("invalid inputs : at least two points are needed");
+        return step;
+    }
+
+    /**
+     * Adds a new point to the function, at its place in the order of x.
+     * Appending after the greatest x takes O(1) amortized, inserting before takes O(n).
+     *
+     * @param x The x-coordinate of the new point.
+     * @param y The y-coordinate of the new point.
+     * @throws ArithmeticException if x or y is null or x is already a point of the function
+     */
+    @Override
+    public void addPoint(BigDecimal x, BigDecimal y) {
+        if (x == null || y == null)
+            throw new ArithmeticException("invalid inputs : point cannot be null");
+        int p = search(x);
+        if (p >= 0)
+            throw new ArithmeticException("invalid inputs : x points must be distinct");
+        int index = -p - 1;
+        if (size == xs.length) {
+            int capacity = Math.max(16, size + (size >> 1));
+            xs = Arrays.copyOf(xs, capacity);
+            ys = Arrays.copyOf(ys, capacity);
+            keys = Arrays.copyOf(keys, capacity);
+        }
+        if (index == size) {
+            // appended : the lists and the divided differences are extended
+            super.addPoint(x, y);
+            xs[size] = x;
+            ys[size] = y;
+            keys[size] = x.doubleValue();
+            size++;
+            if (size == 2)
+                updateStep();
+            else if (size > 2)
+                uniform = uniform && x.subtract(xs[size - 2]).compareTo(step) == 0;
+            return;
+        }
+        super.getXp().add(index, x);
+        super.getYp().add(index, y);
+        // the Newton table and the content hash follow the order of the points
+        resetCaches();
+        System.arraycopy(xs, index, xs, index + 1, size - index);
+        System.arraycopy(ys, index, ys, index + 1, size - index);
+        System.arraycopy(keys, index, keys, index + 1, size - index);
+        xs[index] = x;
+        ys[index] = y;
+        keys[index] = x.doubleValue();
+        size++;
+        updateStep();
+    }
+}
@@ -0,0 +1,206 @@
+package Functions;
+
+import Util.BigDecimalUtil;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * The BarycentricLagrange class represents the Lagrange interpolation polynomial of a set of points in its barycentric form :
+ * <pre>
+ *          sum( wj * yj / (x - xj) )
+ * p(x) = -----------------------------      where 1 / wj = (xj - x0) * (xj - x1) ... (xj - xj-1) * (xj - xj+1) ...
+ *            sum( wj / (x - xj) )
+ * </pre>
+ * The weights are computed once in O(n^2), then every evaluation takes O(n) operations and adding a point updates
+ * the weights in O(n). The monomial form is only built when needed ({@link #getPolynomial()}), by differentiation
+ * and integration, and kept until a point is added.
+ *
+ * <p>Usage Example:</p>
+ * <pre>{@code
+ * BarycentricLagrange p = new BarycentricLagrange(func);
+ * BigDecimal y = p.getValueAt(new BigDecimal("2.5"));
+ * p.addPoint(new BigDecimal(7), new BigDecimal(49));
+ * Polynomial poly = p.getPolynomial();
+ * }</pre>
+ */
+@SuppressWarnings("all")
+public class BarycentricLagrange implements Function {
+    private final ArrayList<BigDecimal> xp = new ArrayList<>();
+    private final ArrayList<BigDecimal> yp = new ArrayList<>();
+
+    /**
+     * The inverses of the weights : (xj - x0) * (xj - x1) ... (xj - xj-1) * (xj - xj+1) ...
+     */
+    private final ArrayList<BigDecimal> scalars = new ArrayList<>();
+
+    /**
+     * The monomial form, null until asked for and after a point is added
+     */
+    private Polynomial polynomial;
+
+    /**
+     * Constructs the interpolation polynomial of the points of the given function.
+     *
+     * @param func {@link PointsFunction} object representing the function to be interpolated
+     * @throws ArithmeticException if the given function is null or has repeated x points
+     */
+    public BarycentricLagrange(PointsFunction func) {
+        if (func == null)
+            throw new ArithmeticException("invalid inputs : Function cannot be null");
+        ArrayList<BigDecimal> x = func.getXp();
+        ArrayList<BigDecimal> y = func.getYp();
+        int n = x.size();
+        for (int j = 0; j < n; j++) {
+            // scalar = (xj - x0 ) * (xj - x1 ) ... (xj - xj-1) * (xj - xj+1) ..
+            BigDecimal scalar = new BigDecimal(1);
+            for (int i = 0; i < n; i++)
+                if (i != j)
+                    scalar = scalar.multiply(x.get(j).subtract(x.get(i)), BigDecimalUtil.context);
+            if (scalar.signum() == 0)
+                throw new ArithmeticException("invalid inputs : x points must be distinct");
+            scalars.add(scalar);
+        }
+        xp.addAll(x);
+        yp.addAll(y);
+    }
+
+    /**
+     * Adds a point to the interpolation, the degree of the polynomial increasing by one.
+     * Every scalar gets multiplied by (xj - x), and the scalar of the new point is built, in O(n).
+     *
+     * @param x The x-coordinate of the new point.
+     * @param y The y-coordinate of the new point.
+     * @throws ArithmeticException if x or y is null or x is already a point of the interpolation
+     */
+    public void addPoint(BigDecimal x, BigDecimal y) {
+        if (x == null || y == null)
+            throw new ArithmeticException("invalid inputs : point cannot be null");
+        BigDecimal scalar = new BigDecimal(1);
+        for (int j = 0; j < xp.size(); j++) {
+            BigDecimal d = xp.get(j).subtract(x);
+            if (d.signum() == 0)
+                throw new ArithmeticException("invalid inputs : x points must be distinct");
+            scalar = scalar.multiply(d.negate(), BigDecimalUtil.context);
+        }
+        for (int j = 0; j < xp.size(); j++)
+            scalars.set(j, scalars.get(j).multiply(xp.get(j).subtract(x), BigDecimalUtil.context));
+        xp.add(x);
+        yp.add(y);
+        scalars.add(scalar);
+        polynomial = null;
+    }
+
+    /**
+     * Evaluates the interpolation polynomial at x with the barycentric formula, in O(n).
+     *
+     * @param x The x-coordinate at which to evaluate the function.
+     * @return The value of the interpolation polynomial at x.
+     * @throws ArithmeticException if there are no points
+     */
+    public BigDecimal getValueAt(BigDecimal x) {
+        if (xp.isEmpty())
+            throw new ArithmeticException("invalid inputs : no points to interpolate");
+        BigDecimal num = new BigDecimal(0);
+        BigDecimal den = new BigDecimal(0);
+        for (int j = 0; j < xp.size(); j++) {
+            BigDecimal d = x.subtract(xp.get(j));
+            // the formula is singular at the points themselves, where the polynomial equals yj
+            if (d.signum() == 0)
+                return yp.get(j);
+            // t = wj / (x - xj)
+            BigDecimal t = new BigDecimal(1).divide(scalars.get(j).multiply(d, BigDecimalUtil.context), BigDecimalUtil.context);
+            num = num.add(t.multiply(yp.get(j)), BigDecimalUtil.context);
+            den = den.add(t, BigDecimalUtil.context);
+        }
+        return num.divide(den, BigDecimalUtil.context);
+    }
+
+    /**
+     * Computes the value of the derivative of the interpolation polynomial at x from its monomial form.
+     *
+     * @param x    The x-coordinate at which to compute the derivative.
+     * @param rank The order of the derivative.
+     * @return The value of the derivative at x.
+     */
+    public BigDecimal getDiffAt(BigDecimal x, int rank) {
+        return getMonomialForm().getDiffAt(x, rank);
+    }
+
+    /**
+     * Computes the value of the integral of the interpolation polynomial at x from its monomial form.
+     *
+     * @param x    The x-coordinate at which to compute the integral.
+     * @param rank The order of the integral.
+     * @return The value of the integral at x.
+     */
+    public BigDecimal getIntegralAt(BigDecimal x, int rank) {
+        return getMonomialForm().getIntegralAt(x, rank);
+    }
+
+    /**
+     * Returns the interpolation polynomial in monomial form, in O(n^2).
+     * <p>
+     * The product M(x) = (x - x0) * (x - x1) ... (x - xn) is built once with a product tree
+     * ({@link Polynomial#fromRoots(java.util.List)}), then each numerator M(x) / (x - xj) is obtained by a Horner division
+     * and added with the factor wj * yj.
+     * </p>
+     *
+     * @return the interpolation polynomial as {@link Polynomial}
+     */
+    public Polynomial getPolynomial() {
+        return new Polynomial(new ArrayList<>(getMonomialForm().getCoeffs()));
+    }
+
+    private Polynomial getMonomialForm() {
+        if (polynomial != null)
+            return polynomial;
+        int n = xp.size();
+        // M(x) = (x - x0 ) * (x - x1) ... (x - xn)
+        Polynomial m = Polynomial.fromRoots(xp);
+        // the exact coefficients of many points are long, keep the working precision of the divisions
+        for (int k = 0; k < m.getCoeffs().size(); k++)
+            m.getCoeffs().set(k, m.getCoeffs().get(k).round(BigDecimalUtil.context));
+        BigDecimal[] res = new BigDecimal[Math.max(n, 1)];
+        Arrays.fill(res, new BigDecimal(0));
+        for (int j = 0; j < n; j++) {
+            // Lj numerator : M(x) / (x - xj) = (x - x0 ) * (x - x1) .. (x - xj-1) * (x - xj+1) ..
+            ArrayList<BigDecimal> lag = Polynomial.Horner.getDivideOn(m, xp.get(j)).getCoeffs();
+            // add (yj / scalar) * Lj, dividing with a relative precision so that large scalars of many points do not round to zero
+            BigDecimal factor = yp.get(j).divide(scalars.get(j), BigDecimalUtil.context);
+            for (int k = 0; k < lag.size(); k++)
+                res[k] = res[k].add(factor.multiply(lag.get(k)), BigDecimalUtil.context);
+        }
+        polynomial = new Polynomial(new ArrayList<>(Arrays.asList(res)));
+        return polynomial;
+    }
+
+    /**
+     * Returns the number of interpolated points.
+     *
+     * @return The number of points.
+     */
+    public int size() {
+        return xp.size();
+    }
+
+    /**
+     * Returns the points of the interpolation as a {@link PointsFunction}.
+     *
+     * @return A copy of the interpolated points.
+     */
+    public PointsFunction getPoints() {
+        return new PointsFunction(new ArrayList<>(xp), new ArrayList<>(yp));
+    }
+
+    /**
+     * Returns the string representation of the interpolation polynomial in monomial form.
+     *
+     * @return The string representation of the function.
+     */
+    @Override
+    public String toString() {
+        return getMonomialForm().toString();
+    }
+}
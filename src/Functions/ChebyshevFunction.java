@@ -0,0 +1,311 @@
+package Functions;
+
+import Util.Accuracy;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * The ChebyshevFunction class represents the Chebyshev series c0 T0(t) + c1 T1(t) + ... + cn Tn(t) approximating a
+ * function on an interval [a, b], where t = (2x - a - b) / (b - a) maps [a, b] onto [-1, 1].
+ * <p>
+ * The function is sampled at the Chebyshev points xk = cos(k pi / N) of [a, b], N = 16, 32 ... being doubled until
+ * the upper half of the coefficients sums below the requested tolerance; as every point of N is also a point of 2N,
+ * each doubling only evaluates the new points. The tail of the series smaller than the tolerance is then dropped,
+ * which selects the degree. The series is evaluated by Clenshaw's recurrence in O(n), and its derivatives and
+ * integrals are Chebyshev series as well, so a costly {@link ExpressionFunction} can be replaced by its
+ * approximation in root finding, differentiation and integration.
+ * </p>
+ * <p>
+ * The coefficients are computed with {@link #GUARD_DIGITS} digits more than the accuracy. Outside [a, b]
+ * the series is still evaluated, but it no longer approximates the function.
+ * </p>
+ *
+ * <p>Usage Example:</p>
+ * <pre>{@code
+ * ExpressionFunction f = new ExpressionFunction("exp(sin(3*x))");
+ * ChebyshevFunction g = f.toChebyshevFunction(new BigDecimal(-1), new BigDecimal(2), new BigDecimal("1e-12"));
+ * BigDecimal y = g.getValueAt(new BigDecimal("0.5"));
+ * BigDecimal area = g.getIntegralAt(new BigDecimal(2), 1);
+ * }</pre>
+ */
+@SuppressWarnings("all")
+public class ChebyshevFunction implements Function {
+    /**
+     * The number of digits kept beyond the accuracy while building and evaluating the series
+     */
+    public static final int GUARD_DIGITS = 10;
+
+    /**
+     * The greatest number of intervals N between the sampled Chebyshev points
+     */
+    public static final int MAX_POINTS = 1024;
+
+    private final BigDecimal a;
+    private final BigDecimal b;
+
+    /**
+     * The coefficients c0, c1 ... cn of the series
+     */
+    private final BigDecimal[] coeffs;
+
+    private final MathContext mc;
+
+    /**
+     * 2 / (b - a), the scale of the map from x to t
+     */
+    private final BigDecimal scale;
+
+    private ChebyshevFunction derivative;
+    private ChebyshevFunction integral;
+
+    private ChebyshevFunction(BigDecimal a, BigDecimal b, BigDecimal[] coeffs, MathContext mc) {
+        this.a = a;
+        this.b = b;
+        this.coeffs = coeffs;
+        this.mc = mc;
+        this.scale = new BigDecimal(2).divide(b.subtract(a), mc);
+    }
+
+    /**
+     * Builds the Chebyshev series of the given function on [a, b] to the given tolerance, choosing its degree.
+     *
+     * @param func      the function to approximate
+     * @param a         the lower bound of the interval
+     * @param b         the upper bound of the interval
+     * @param tolerance the largest absolute error allowed on [a, b]
+     * @return the Chebyshev approximation of the function
+     * @throws ArithmeticException if an input is null, a is not smaller than b, the tolerance is not positive,
+     *                             or the series does not converge with {@link #MAX_POINTS} points
+     */
+    public static ChebyshevFunction of(Function func, BigDecimal a, BigDecimal b, BigDecimal tolerance) {
+        if (func == null || a == null || b == null || tolerance == null)
+            throw new ArithmeticException("invalid inputs : inputs cannot be null");
+        else if (a.compareTo(b) >= 0)
+            throw new ArithmeticException("invalid inputs : a must be smaller than b");
+        else if (tolerance.signum() <= 0)
+            throw new ArithmeticException("invalid inputs : tolerance must be positive");
+        MathContext mc = new MathContext(Accuracy.getValue() + GUARD_DIGITS, RoundingMode.HALF_UP);
+        BigDecimal mid = a.add(b).divide(new BigDecimal(2), mc);
+        BigDecimal half = b.subtract(a).divide(new BigDecimal(2), mc);
+        BigDecimal bound = tolerance.divide(new BigDecimal(2), mc);
+        BigDecimal[] values = null;
+        for (int n = 16; n <= MAX_POINTS; n *= 2) {
+            BigDecimal[] cosines = getCosines(n, mc);
+            // f at xk = mid + half cos(k pi / n) , the even points being those of n / 2
+            BigDecimal[] next = new BigDecimal[n + 1];
+            for (int k = 0; k <= n; k++) {
+                if (values != null && k % 2 == 0)
+                    next[k] = values[k / 2];
+                else
+                    next[k] = func.getValueAt(mid.add(half.multiply(cosines[k]), mc));
+            }
+            values = next;
+            BigDecimal[] c = getCoefficients(values, cosines, mc);
+            // converged when the upper half of the series is below the tolerance
+            BigDecimal tail = new BigDecimal(0);
+            for (int j = n; j > n / 2; j--)
+                tail = tail.add(c[j].abs(), mc);
+            if (tail.compareTo(bound) <= 0)
+                return new ChebyshevFunction(a, b, chop(c, bound, mc), mc);
+        }
+        throw new ArithmeticException("invalid inputs : no convergence with " + MAX_POINTS + " Chebyshev points");
+    }
+
+    /**
+     * Returns cos(k pi / n) for k = 0 ... n, n being a power of two. cos(pi / n) and sin(pi / n) are found by
+     * halving the angle pi / 2, then the points are turned by this angle, which keeps the rounding errors linear in k.
+     */
+    private static BigDecimal[] getCosines(int n, MathContext mc) {
+        BigDecimal one = new BigDecimal(1), two = new BigDecimal(2);
+        BigDecimal c = new BigDecimal(0);
+        for (int m = 2; m < n; m *= 2)
+            c = one.add(c).divide(two, mc).sqrt(mc);
+        BigDecimal s = one.subtract(c.multiply(c), mc).sqrt(mc);
+        BigDecimal[] cosines = new BigDecimal[n + 1];
+        BigDecimal ck = one, sk = new BigDecimal(0);
+        for (int k = 0; k <= n / 2; k++) {
+            cosines[k] = ck;
+            cosines[n - k] = ck.negate();
+            BigDecimal next = ck.multiply(c).subtract(sk.multiply(s), mc);
+            sk = sk.multiply(c).add(ck.multiply(s), mc);
+            ck = next;
+        }
+        cosines[n / 2] = new BigDecimal(0);
+        return cosines;
+    }
+
+    /**
+     * Returns the coefficients of the polynomial interpolating the values at the n + 1 Chebyshev points :
+     * cj = 2 / n ( f0 / 2 + f1 cos(j pi / n) + ... + fn cos(j n pi / n) / 2 ), c0 and cn being halved.
+     */
+    private static BigDecimal[] getCoefficients(BigDecimal[] values, BigDecimal[] cosines, MathContext mc) {
+        int n = values.length - 1;
+        BigDecimal two = new BigDecimal(2);
+        BigDecimal[] c = new BigDecimal[n + 1];
+        for (int j = 0; j <= n; j++) {
+            BigDecimal sum = values[0].add(j % 2 == 0 ? values[n] : values[n].negate()).divide(two, mc);
+            for (int k = 1; k < n; k++) {
+                // cos(j k pi / n) = cos(m pi / n) with m = j k mod 2n
+                int m = (int) ((long) j * k % (2 * n));
+                sum = sum.add(values[k].multiply(m <= n ? cosines[m] : cosines[2 * n - m]), mc);
+            }
+            c[j] = sum.multiply(two).divide(new BigDecimal(n), mc);
+        }
+        c[0] = c[0].divide(two, mc);
+        c[n] = c[n].divide(two, mc);
+        return c;
+    }
+
+    /**
+     * Drops the last coefficients as long as their absolute values sum below the bound.
+     */
+    private static BigDecimal[] chop(BigDecimal[] c, BigDecimal bound, MathContext mc) {
+        int n = c.length - 1;
+        BigDecimal dropped = c[n].abs();
+        while (n > 0 && dropped.compareTo(bound) <= 0) {
+            n--;
+            dropped = dropped.add(c[n].abs(), mc);
+        }
+        return Arrays.copyOf(c, n + 1);
+    }
+
+    /**
+     * Evaluates the series at the given x-coordinate using Clenshaw's recurrence :
+     * bk = ck + 2t bk+1 - bk+2 , then f = c0 + t b1 - b2.
+     *
+     * @param x The x-coordinate at which to evaluate the function.
+     * @return The value of the series at x.
+     */
+    public BigDecimal getValueAt(BigDecimal x) {
+        BigDecimal t = x.subtract(a).multiply(scale).subtract(new BigDecimal(1), mc);
+        BigDecimal t2 = t.multiply(new BigDecimal(2));
+        BigDecimal b1 = new BigDecimal(0), b2 = new BigDecimal(0);
+        for (int k = coeffs.length - 1; k > 0; k--) {
+            BigDecimal bk = coeffs[k].add(t2.multiply(b1)).subtract(b2, mc);
+            b2 = b1;
+            b1 = bk;
+        }
+        return coeffs[0].add(t.multiply(b1)).subtract(b2, mc);
+    }
+
+    /**
+     * Computes the value of the derivative of the series at the given x-coordinate.
+     *
+     * @param x    The x-coordinate at which to compute the derivative.
+     * @param rank The order of the derivative.
+     * @return The value of the derivative at x.
+     * @throws ArithmeticException if rank is smaller than zero
+     */
+    public BigDecimal getDiffAt(BigDecimal x, int rank) {
+        if (rank < 0)
+            throw new ArithmeticException("invalid rank");
+        ChebyshevFunction f = this;
+        for (int i = 0; i < rank; i++)
+            f = f.getDerivative();
+        return f.getValueAt(x);
+    }
+
+    /**
+     * Computes the value of the repeated integral of the series from a to the given x-coordinate.
+     *
+     * @param x    The x-coordinate at which to compute the integral.
+     * @param rank The order of the integral, 0 giving the value of the series.
+     * @return The value of the integral at x.
+     * @throws ArithmeticException if rank is smaller than zero
+     */
+    public BigDecimal getIntegralAt(BigDecimal x, int rank) {
+        if (rank < 0)
+            throw new ArithmeticException("invalid rank");
+        ChebyshevFunction f = this;
+        for (int i = 0; i < rank; i++)
+            f = f.getIntegral();
+        return f.getValueAt(x);
+    }
+
+    /**
+     * Returns the derivative of the series on the same interval, built once in O(n) :
+     * dn-1 = 2n cn , dj-1 = dj+1 + 2j cj , d0 being halved, then scaled by 2 / (b - a).
+     *
+     * @return The derivative as {@link ChebyshevFunction}.
+     */
+    public ChebyshevFunction getDerivative() {
+        if (derivative == null) {
+            int n = coeffs.length - 1;
+            BigDecimal[] d = new BigDecimal[Math.max(n, 1)];
+            Arrays.fill(d, new BigDecimal(0));
+            for (int j = n; j > 0; j--) {
+                BigDecimal next = j + 1 < n ? d[j + 1] : new BigDecimal(0);
+                d[j - 1] = next.add(new BigDecimal(2 * j).multiply(coeffs[j]), mc);
+            }
+            if (n > 0)
+                d[0] = d[0].divide(new BigDecimal(2), mc);
+            for (int j = 0; j < d.length; j++)
+                d[j] = d[j].multiply(scale, mc);
+            derivative = new ChebyshevFunction(a, b, d, mc);
+        }
+        return derivative;
+    }
+
+    /**
+     * Returns the integral of the series from a, on the same interval, built once in O(n) :
+     * C1 = c0 - c2 / 2 , Cj = (cj-1 - cj+1) / 2j , scaled by (b - a) / 2, C0 making it vanish at a.
+     *
+     * @return The integral as {@link ChebyshevFunction}.
+     */
+    public ChebyshevFunction getIntegral() {
+        if (integral == null) {
+            int n = coeffs.length - 1;
+            BigDecimal half = b.subtract(a).divide(new BigDecimal(2), mc);
+            BigDecimal[] c = new BigDecimal[n + 2];
+            c[0] = new BigDecimal(0);
+            for (int j = 1; j <= n + 1; j++) {
+                BigDecimal previous = j == 1 ? coeffs[0].multiply(new BigDecimal(2)) : coeffs[j - 1];
+                BigDecimal next = j + 1 <= n ? coeffs[j + 1] : new BigDecimal(0);
+                c[j] = previous.subtract(next).multiply(half).divide(new BigDecimal(2 * j), mc);
+                // Tj(-1) = (-1)^j
+                c[0] = j % 2 == 0 ? c[0].subtract(c[j], mc) : c[0].add(c[j], mc);
+            }
+            integral = new ChebyshevFunction(a, b, c, mc);
+        }
+        return integral;
+    }
+
+    /**
+     * Returns the coefficients c0, c1 ... cn of the series.
+     *
+     * @return A copy of the coefficients.
+     */
+    public ArrayList<BigDecimal> getCoefficients() {
+        return new ArrayList<>(Arrays.asList(coeffs));
+    }
+
+    /**
+     * Returns the degree n of the series.
+     *
+     * @return The degree of the series.
+     */
+    public int getDegree() {
+        return coeffs.length - 1;
+    }
+
+    /**
+     * Returns the string representation of the series.
+     *
+     * @return The string representation of the series.
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (int j = 0; j < coeffs.length; j++) {
+            if (j > 0)
+                sb.append(" + ");
+            sb.append(coeffs[j].round(new MathContext(Accuracy.getValue(), RoundingMode.HALF_UP))).append(" T").append(j).append("(t)");
+        }
+        sb.append(" , t = (2x - ").append(a.add(b)).append(") / ").append(b.subtract(a));
+        return sb.toString();
+    }
+}
@@ -0,0 +1,191 @@
+package Functions;
+
+import Util.Accuracy;
+import Util.Matrix;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * The CubicSpline class represents the cubic spline interpolating a set of points : a cubic polynomial on every interval
+ * [xi, xi+1], the pieces joining with continuous first and second derivatives.
+ * <p>
+ * The second derivatives Mi at the points are the solution of a tridiagonal system, solved in O(n) by
+ * {@link Matrix#solveTridiagonal(ArrayList, ArrayList, ArrayList, ArrayList)}. On [xi, xi+1] the spline is then
+ * the piece Si(t) = yi + bi t + ci t^2 + di t^3 with t = x - xi, evaluated by {@link PiecewiseFunction}.
+ * Three end conditions are available :
+ * </p>
+ * <ul>
+ *     <li>{@link #natural(PointsFunction)} : M0 = Mn = 0</li>
+ *     <li>{@link #clamped(PointsFunction, BigDecimal, BigDecimal)} : the first derivatives at both ends are given</li>
+ *     <li>{@link #notAKnot(PointsFunction)} : the third derivative is continuous at x1 and xn-1</li>
+ * </ul>
+ *
+ * <p>Usage Example:</p>
+ * <pre>{@code
+ * CubicSpline s = CubicSpline.natural(func);
+ * BigDecimal y = s.getValueAt(new BigDecimal("2.5"));
+ * BigDecimal slope = s.getDiffAt(new BigDecimal("2.5"), 1);
+ * }</pre>
+ */
+@SuppressWarnings("all")
+public class CubicSpline extends PiecewiseFunction {
+
+    private CubicSpline(BigDecimal[] knots, Polynomial[] pieces) {
+        super(knots, pieces);
+    }
+
+    /**
+     * Returns the natural cubic spline of the points, whose second derivative is zero at both ends.
+     *
+     * @param func {@link PointsFunction} object representing the function to be interpolated
+     * @return the natural cubic spline
+     * @throws ArithmeticException if the given function is null, has less than two points or repeated x points
+     */
+    public static CubicSpline natural(PointsFunction func) {
+        return build(func, null, null, false);
+    }
+
+    /**
+     * Returns the clamped cubic spline of the points, whose first derivatives at both ends are given.
+     *
+     * @param func   {@link PointsFunction} object representing the function to be interpolated
+     * @param first  the first derivative at the smallest x point
+     * @param last   the first derivative at the greatest x point
+     * @return the clamped cubic spline
+     * @throws ArithmeticException if an input is null, or the function has less than two points or repeated x points
+     */
+    public static CubicSpline clamped(PointsFunction func, BigDecimal first, BigDecimal last) {
+        if (first == null || last == null)
+            throw new ArithmeticException("invalid inputs : end derivatives cannot be null");
+        return build(func, first, last, false);
+    }
+
+    /**
+     * Returns the not-a-knot cubic spline of the points, whose two first and two last pieces are the same cubic.
+     * With three points this is the interpolating parabola, and with two points the line.
+     *
+     * @param func {@link PointsFunction} object representing the function to be interpolated
+     * @return the not-a-knot cubic spline
+     * @throws ArithmeticException if the given function is null, has less than two points or repeated x points
+     */
+    public static CubicSpline notAKnot(PointsFunction func) {
+        return build(func, null, null, true);
+    }
+
+    private static CubicSpline build(PointsFunction func, BigDecimal first, BigDecimal last, boolean notAKnot) {
+        if (func == null)
+            throw new ArithmeticException("invalid inputs : Function cannot be null");
+        int n = func.getXp().size();
+        if (n < 2)
+            throw new ArithmeticException("invalid inputs : a spline needs at least two points");
+        int scale = Accuracy.getValue() + 3;
+        // sort the points by x
+        Integer[] order = new Integer[n];
+        for (int i = 0; i < n; i++)
+            order[i] = i;
+        Arrays.sort(order, (i, j) -> func.getXp().get(i).compareTo(func.getXp().get(j)));
+        BigDecimal[] xp = new BigDecimal[n];
+        BigDecimal[] yp = new BigDecimal[n];
+        for (int i = 0; i < n; i++) {
+            xp[i] = func.getXp().get(order[i]);
+            yp[i] = func.getYp().get(order[i]);
+        }
+        // k intervals of lengths h[i] and slopes delta[i]
+        int k = n - 1;
+        BigDecimal[] h = new BigDecimal[k];
+        BigDecimal[] delta = new BigDecimal[k];
+        for (int i = 0; i < k; i++) {
+            h[i] = xp[i + 1].subtract(xp[i]);
+            if (h[i].signum() == 0)
+                throw new ArithmeticException("invalid inputs : x points must be distinct");
+            delta[i] = yp[i + 1].subtract(yp[i]).divide(h[i], scale, RoundingMode.HALF_UP);
+        }
+        BigDecimal[] m = notAKnot ? getNotAKnotMoments(h, delta) : getMoments(h, delta, first, last);
+        Polynomial[] pieces = new Polynomial[k];
+        BigDecimal six = new BigDecimal(6);
+        for (int i = 0; i < k; i++) {
+            // ci = Mi / 2 , di = (Mi+1 - Mi) / 6hi , bi = deltai - hi (2Mi + Mi+1) / 6
+            BigDecimal c = m[i].divide(new BigDecimal(2), scale, RoundingMode.HALF_UP);
+            BigDecimal d = m[i + 1].subtract(m[i]).divide(six.multiply(h[i]), scale, RoundingMode.HALF_UP);
+            BigDecimal b = delta[i].subtract(h[i].multiply(m[i].multiply(new BigDecimal(2)).add(m[i + 1])).divide(six, scale, RoundingMode.HALF_UP));
+            pieces[i] = new Polynomial(new ArrayList<>(Arrays.asList(yp[i], b, c, d)));
+        }
+        return new CubicSpline(xp, pieces);
+    }
+
+    /**
+     * Returns the second derivatives at the points for the natural (first and last are null) or clamped conditions.
+     */
+    private static BigDecimal[] getMoments(BigDecimal[] h, BigDecimal[] delta, BigDecimal first, BigDecimal last) {
+        int k = h.length;
+        BigDecimal six = new BigDecimal(6), two = new BigDecimal(2), zero = new BigDecimal(0);
+        ArrayList<BigDecimal> sub = new ArrayList<>(k + 1), diag = new ArrayList<>(k + 1), sup = new ArrayList<>(k + 1), rhs = new ArrayList<>(k + 1);
+        // first row : M0 = 0 , or 2h0 M0 + h0 M1 = 6 (delta0 - s0)
+        sub.add(zero);
+        diag.add(first == null ? new BigDecimal(1) : two.multiply(h[0]));
+        sup.add(first == null ? zero : h[0]);
+        rhs.add(first == null ? zero : six.multiply(delta[0].subtract(first)));
+        // interior rows : hi-1 Mi-1 + 2 (hi-1 + hi) Mi + hi Mi+1 = 6 (deltai - deltai-1)
+        for (int i = 1; i < k; i++) {
+            sub.add(h[i - 1]);
+            diag.add(two.multiply(h[i - 1].add(h[i])));
+            sup.add(h[i]);
+            rhs.add(six.multiply(delta[i].subtract(delta[i - 1])));
+        }
+        // last row : Mn = 0 , or hn-1 Mn-1 + 2hn-1 Mn = 6 (sn - deltan-1)
+        sub.add(last == null ? zero : h[k - 1]);
+        diag.add(last == null ? new BigDecimal(1) : two.multiply(h[k - 1]));
+        sup.add(zero);
+        rhs.add(last == null ? zero : six.multiply(last.subtract(delta[k - 1])));
+        return solve(sub, diag, sup, rhs);
+    }
+
+    /**
+     * Returns the second derivatives at the points for the not-a-knot condition.
+     * M0 and Mn are eliminated from the first and last interior rows using the continuity of the third derivative :
+     * h1 M0 = (h0 + h1) M1 - h0 M2 , and the same at the other end.
+     */
+    private static BigDecimal[] getNotAKnotMoments(BigDecimal[] h, BigDecimal[] delta) {
+        int k = h.length, scale = Accuracy.getValue() + 3;
+        BigDecimal six = new BigDecimal(6), two = new BigDecimal(2);
+        BigDecimal[] m = new BigDecimal[k + 1];
+        if (k == 1) {
+            // the line through two points
+            Arrays.fill(m, new BigDecimal(0));
+            return m;
+        } else if (k == 2) {
+            // the parabola through three points : M = 2 f[x0, x1, x2]
+            Arrays.fill(m, two.multiply(delta[1].subtract(delta[0])).divide(h[0].add(h[1]), scale, RoundingMode.HALF_UP));
+            return m;
+        }
+        ArrayList<BigDecimal> sub = new ArrayList<>(k - 1), diag = new ArrayList<>(k - 1), sup = new ArrayList<>(k - 1), rhs = new ArrayList<>(k - 1);
+        for (int i = 1; i < k; i++) {
+            sub.add(h[i - 1]);
+            diag.add(two.multiply(h[i - 1].add(h[i])));
+            sup.add(h[i]);
+            rhs.add(six.multiply(delta[i].subtract(delta[i - 1])));
+        }
+        // first row : (h0 + h1) (h0 + 2h1) / h1 M1 + (h1^2 - h0^2) / h1 M2
+        diag.set(0, h[0].add(h[1]).multiply(h[0].add(two.multiply(h[1]))).divide(h[1], scale, RoundingMode.HALF_UP));
+        sup.set(0, h[1].multiply(h[1]).subtract(h[0].multiply(h[0])).divide(h[1], scale, RoundingMode.HALF_UP));
+        // last row : (hn-2^2 - hn-1^2) / hn-2 Mn-2 + (hn-2 + hn-1) (2hn-2 + hn-1) / hn-2 Mn-1
+        BigDecimal hp = h[k - 2], hl = h[k - 1];
+        sub.set(k - 2, hp.multiply(hp).subtract(hl.multiply(hl)).divide(hp, scale, RoundingMode.HALF_UP));
+        diag.set(k - 2, hp.add(hl).multiply(two.multiply(hp).add(hl)).divide(hp, scale, RoundingMode.HALF_UP));
+        BigDecimal[] inner = solve(sub, diag, sup, rhs);
+        System.arraycopy(inner, 0, m, 1, k - 1);
+        m[0] = h[0].add(h[1]).multiply(m[1]).subtract(h[0].multiply(m[2])).divide(h[1], scale, RoundingMode.HALF_UP);
+        m[k] = hp.add(hl).multiply(m[k - 1]).subtract(hl.multiply(m[k - 2])).divide(hp, scale, RoundingMode.HALF_UP);
+        return m;
+    }
+
+    private static BigDecimal[] solve(ArrayList<BigDecimal> sub, ArrayList<BigDecimal> diag, ArrayList<BigDecimal> sup, ArrayList<BigDecimal> rhs) {
+        ArrayList<BigDecimal> res = Matrix.solveTridiagonal(sub, diag, sup, rhs);
+        if (res == null)
+            throw new ArithmeticException("invalid inputs : the spline system has no unique solution");
+        return res.toArray(new BigDecimal[0]);
+    }
+}
@@ -0,0 +1,170 @@
+package Functions;
+
+import Util.Accuracy;
+import Util.BigDecimalUtil;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * The DividedDifferences class holds a Newton divided differences table that grows one point at a time.
+ * <p>
+ * Only the last diagonal of the table is kept : f[xn], f[xn-1, xn] ... f[x0 ... xn]. Appending the point xn+1 builds
+ * the next diagonal from it in O(n), and its last entry f[x0 ... xn+1] is the new Newton coefficient. The Newton
+ * polynomial f[x0] + f[x0, x1] (x - x0) + ... is kept in monomial form together with the product
+ * (x - x0) (x - x1) ... (x - xn), so adding a point updates it in O(n) as well.
+ * </p>
+ * <p>
+ * Every entry is computed from the same two neighbours and with the same rounding as the full table of
+ * {@link Numerics.Interpolation.NewtonForwardDividedSubtractions}, so both give the same coefficients.
+ * </p>
+ */
+@SuppressWarnings("all")
+public class DividedDifferences {
+    private final ArrayList<BigDecimal> xp = new ArrayList<>();
+    private final ArrayList<BigDecimal> yp = new ArrayList<>();
+
+    /**
+     * The upper diameter of the table : f[x0], f[x0, x1] ... f[x0 ... xn]
+     */
+    private final ArrayList<BigDecimal> coeffs = new ArrayList<>();
+
+    /**
+     * The last diagonal of the table : diagonal[k] = f[xn-k ... xn]
+     */
+    private BigDecimal[] diagonal = new BigDecimal[0];
+
+    /**
+     * The Newton polynomial in monomial form, in ascending order of degree
+     */
+    private BigDecimal[] poly = new BigDecimal[0];
+
+    /**
+     * The product (x - x0) (x - x1) ... (x - xn), in ascending order of degree
+     */
+    private BigDecimal[] basis = {new BigDecimal(1)};
+
+    /**
+     * The scale of the divisions, taken from the accuracy when the table is constructed
+     */
+    private final int scale = Accuracy.getValue() + 3;
+
+    /**
+     * Constructs an empty table, dividing at the scale of the current accuracy.
+     */
+    public DividedDifferences() {
+    }
+
+    /**
+     * Constructs the table of the points of the given function.
+     *
+     * @param func {@link PointsFunction} object holding the points
+     * @throws ArithmeticException if the given function is null or has repeated x points
+     */
+    public DividedDifferences(PointsFunction func) {
+        if (func == null)
+            throw new ArithmeticException("invalid inputs : Function cannot be null");
+        for (int i = 0; i < func.size(); i++)
+            addPoint(func.getX(i), func.getValueAt(i));
+    }
+
+    /**
+     * Appends a point to the table, computing its diagonal and updating the Newton polynomial in O(n).
+     *
+     * @param x The x-coordinate of the new point.
+     * @param y The y-coordinate of the new point.
+     * @throws ArithmeticException if x or y is null or x is already a point of the table
+     */
+    public void addPoint(BigDecimal x, BigDecimal y) {
+        if (x == null || y == null)
+            throw new ArithmeticException("invalid inputs : point cannot be null");
+        int n = xp.size();
+        BigDecimal[] next = new BigDecimal[n + 1];
+        next[0] = y;
+        for (int k = 1; k <= n; k++) {
+            // f[xn-k ... xn] = (f[xn-k+1 ... xn] - f[xn-k ... xn-1]) / (xn - xn-k)
+            BigDecimal dx = x.subtract(xp.get(n - k));
+            if (dx.signum() == 0)
+                throw new ArithmeticException("invalid inputs : x points must be distinct");
+            next[k] = (next[k - 1].subtract(diagonal[k - 1])).divide(dx, scale, RoundingMode.HALF_UP);
+        }
+        diagonal = next;
+        BigDecimal c = next[n];
+        coeffs.add(c);
+        // poly += c * (x - x0) ... (x - xn-1)
+        poly = Arrays.copyOf(poly, n + 1);
+        poly[n] = new BigDecimal(0);
+        for (int i = 0; i <= n; i++)
+            poly[i] = poly[i].add(c.multiply(basis[i]), BigDecimalUtil.context);
+        // basis *= (x - xn)
+        BigDecimal[] b = new BigDecimal[n + 2];
+        b[n + 1] = basis[n];
+        for (int i = n; i > 0; i--)
+            b[i] = basis[i - 1].subtract(x.multiply(basis[i]), BigDecimalUtil.context);
+        b[0] = x.multiply(basis[0]).negate(BigDecimalUtil.context);
+        basis = b;
+        xp.add(x);
+        yp.add(y);
+    }
+
+    /**
+     * Returns the scale the entries of the table are divided at, the accuracy plus 3 when it was constructed.
+     *
+     * @return The scale of the divisions.
+     */
+    public int getScale() {
+        return scale;
+    }
+
+    /**
+     * Returns the number of points in the table.
+     *
+     * @return The number of points.
+     */
+    public int size() {
+        return xp.size();
+    }
+
+    /**
+     * Returns the x-coordinate of the point at the given index.
+     *
+     * @param index The index of the point.
+     * @return The x-coordinate of the point.
+     */
+    public BigDecimal getX(int index) {
+        return xp.get(index);
+    }
+
+    /**
+     * Returns the y-coordinate of the point at the given index.
+     *
+     * @param index The index of the point.
+     * @return The y-coordinate of the point.
+     */
+    public BigDecimal getValueAt(int index) {
+        return yp.get(index);
+    }
+
+    /**
+     * Returns the upper diameter of the table, that is the Newton coefficients f[x0], f[x0, x1] ... f[x0 ... xn].
+     *
+     * @return A copy of the Newton coefficients.
+     */
+    public ArrayList<BigDecimal> getCoefficients() {
+        return new ArrayList<>(coeffs);
+    }
+
+    /**
+     * Returns the Newton interpolation polynomial of all the points of the table.
+     *
+     * @return The interpolation polynomial as {@link Polynomial}.
+     * @throws ArithmeticException if the table is empty
+     */
+    public Polynomial getPolynomial() {
+        if (poly.length == 0)
+            throw new ArithmeticException("invalid inputs : no points to interpolate");
+        return new Polynomial(new ArrayList<>(Arrays.asList(poly)));
+    }
+}
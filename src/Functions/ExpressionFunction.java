@@ -2,31 +2,92 @@ package Functions;
 
 import Numerics.Interpolation;
 import Util.Accuracy;
+import Util.CompiledExpression;
 import Util.EvaluateString;
+import Util.HyperDual;
 
 import java.math.BigDecimal;
 import java.math.MathContext;
 import java.math.RoundingMode;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Objects;
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.DoubleUnaryOperator;
 
 /**
  * The ExpressionFunction class represents a mathematical function defined by an expression.
  * It implements the {@link Function} interface and provides methods to evaluate the value, differentiate, integrate,
  * and convert the function into a PointsFunction .
+ * <p>
+ * The function is evaluated with BigDecimal arithmetic by default. It can be switched to the double engine of
+ * {@link CompiledExpression} with {@link #setEvaluationMode(EvaluationMode)}, either always or only when the current
+ * {@link Accuracy} fits in a double, and it can be viewed as a {@link DoubleUnaryOperator}
+ * or a {@link DoubleBinaryOperator}.
+ * </p>
+ * <p>
+ * For long scans the expression can also be linked into a method handle chain with {@link #jitCompile()},
+ * or evaluated over whole arrays of points at once with the getValuesAt methods.
+ * </p>
+ * <p>
+ * Derivatives are computed symbolically : {@link #getDerivative(int)} and {@link #getPartialDerivative(char, int)}
+ * return new ExpressionFunctions, and {@link #getDiffAt(BigDecimal, int)} evaluates them.
+ * {@link #getDualAt(BigDecimal)} gives the value with the first and second derivatives in a single pass instead.
+ * </p>
  */
 @SuppressWarnings("all")
 public class ExpressionFunction implements Function {
 
+    /**
+     * The number of significant decimal digits a double can always hold
+     */
+    public static final int DOUBLE_DIGITS = 15;
+
+    /**
+     * The number of points converted at once when a BigDecimal batch is evaluated with the double engine
+     */
+    private static final int CHUNK = 1024;
+
     private final String func;
 
+    /**
+     * The expression parsed once at construction, evaluated directly on every call
+     */
+    private final CompiledExpression expression;
+
+    /**
+     * The engine used by the BigDecimal getValueAt methods
+     */
+    private EvaluationMode mode = EvaluationMode.BIG_DECIMAL;
+
+    /**
+     * The compiled derivatives with respect to x computed so far, derivatives.get(i) being the derivative of rank i + 1
+     */
+    private final ArrayList<CompiledExpression> derivatives = new ArrayList<>();
+
     /**
      * Constructs an ExpressionFunction with the given expression.
      *
      * @param func The expression representing the function.
+     * @throws ArithmeticException If the expression is not well-formed.
      */
     public ExpressionFunction(String func) {
         this.func = Objects.requireNonNull(func);
+        try {
+            this.expression = CompiledExpression.compile(func);
+        } catch (IllegalArgumentException e) {
+            throw new ArithmeticException("invalid function");
+        }
+    }
+
+    /**
+     * Constructs an ExpressionFunction from an already compiled expression, such as a derivative.
+     *
+     * @param expression The compiled expression.
+     */
+    private ExpressionFunction(CompiledExpression expression) {
+        this.func = expression.getSource();
+        this.expression = expression;
     }
 
     /**
@@ -39,7 +100,10 @@ public class ExpressionFunction implements Function {
     public BigDecimal getValueAt(BigDecimal x) {
         BigDecimal res;
         try {
-            res = EvaluateString.evaluate(func, x);
+            if (usesDouble())
+                res = BigDecimal.valueOf(expression.evaluateDouble(x.doubleValue()));
+            else
+                res = expression.evaluate(x);
         } catch (Exception e) {
             throw new ArithmeticException("invalid function");
         }
@@ -57,7 +121,10 @@ public class ExpressionFunction implements Function {
     public BigDecimal getValueAt(BigDecimal x, BigDecimal y) {
         BigDecimal res;
         try {
-            res = EvaluateString.evaluate(func, x, y);
+            if (usesDouble())
+                res = BigDecimal.valueOf(expression.evaluateDouble(x.doubleValue(), y.doubleValue()));
+            else
+                res = expression.evaluate(x, y);
         } catch (Exception e) {
             throw new ArithmeticException("invalid function");
         }
@@ -80,16 +147,215 @@ public class ExpressionFunction implements Function {
     }
 
     /**
-     * Computes the value of the derivative of the function at the given x-coordinate.
+     * Evaluates the function at every x-coordinate of xs with the double engine, regardless of the evaluation mode.
+     * The results are written into out, so sampling a grid does not allocate per point.
+     *
+     * @param xs  The x-coordinates at which to evaluate the function.
+     * @param out The array receiving the values, out[i] being the value at xs[i].
+     * @throws ArithmeticException If out is shorter than xs or an error occurs during evaluation.
+     */
+    public void getValuesAt(double[] xs, double[] out) {
+        getValuesAt(xs, null, out);
+    }
+
+    /**
+     * Evaluates the function at every pair (xs[i], ys[i]) with the double engine, regardless of the evaluation mode.
+     *
+     * @param xs  The x-values at which to evaluate the function.
+     * @param ys  The y-values at which to evaluate the function.
+     * @param out The array receiving the values, out[i] being the value at (xs[i], ys[i]).
+     * @throws ArithmeticException If ys or out is shorter than xs or an error occurs during evaluation.
+     */
+    public void getValuesAt(double[] xs, double[] ys, double[] out) {
+        if (xs == null || out == null)
+            throw new ArithmeticException("invalid inputs : arrays cannot be null");
+        else if (out.length < xs.length || (ys != null && ys.length < xs.length))
+            throw new ArithmeticException("invalid inputs : arrays are shorter than xs");
+        try {
+            expression.evaluateDouble(xs, ys, out);
+        } catch (Exception e) {
+            throw new ArithmeticException("invalid function");
+        }
+    }
+
+    /**
+     * Evaluates the function at every x-coordinate of xs with the engine of the evaluation mode,
+     * writing the results into out.
+     *
+     * @param xs  The x-coordinates at which to evaluate the function.
+     * @param out The array receiving the values, out[i] being the value at xs[i].
+     * @throws ArithmeticException If out is shorter than xs or an error occurs during evaluation.
+     */
+    public void getValuesAt(BigDecimal[] xs, BigDecimal[] out) {
+        if (xs == null || out == null)
+            throw new ArithmeticException("invalid inputs : arrays cannot be null");
+        else if (out.length < xs.length)
+            throw new ArithmeticException("invalid inputs : out is shorter than xs");
+        try {
+            if (!usesDouble()) {
+                expression.evaluate(xs, out);
+                return;
+            }
+            // go through the double batch one chunk at a time
+            double[] dx = new double[Math.min(xs.length, CHUNK)];
+            double[] dy = new double[dx.length];
+            for (int offset = 0; offset < xs.length; offset += CHUNK) {
+                int n = Math.min(CHUNK, xs.length - offset);
+                for (int i = 0; i < n; i++)
+                    dx[i] = xs[offset + i].doubleValue();
+                expression.evaluateDouble(n == dx.length ? dx : Arrays.copyOf(dx, n), dy);
+                for (int i = 0; i < n; i++)
+                    out[offset + i] = BigDecimal.valueOf(dy[i]);
+            }
+        } catch (Exception e) {
+            throw new ArithmeticException("invalid function");
+        }
+    }
+
+    /**
+     * Returns a view of this function as a {@link DoubleUnaryOperator} of x,
+     * evaluated with the double engine regardless of the evaluation mode.
+     *
+     * @return The double view of this function.
+     */
+    public DoubleUnaryOperator asDoubleUnaryOperator() {
+        return expression::evaluateDouble;
+    }
+
+    /**
+     * Returns a view of this function as a {@link DoubleBinaryOperator} of x and y,
+     * evaluated with the double engine regardless of the evaluation mode.
+     *
+     * @return The double view of this function.
+     */
+    public DoubleBinaryOperator asDoubleBinaryOperator() {
+        return expression::evaluateDouble;
+    }
+
+    /**
+     * Returns the engine used by the BigDecimal getValueAt methods.
+     *
+     * @return The current evaluation mode.
+     */
+    public EvaluationMode getEvaluationMode() {
+        return mode;
+    }
+
+    /**
+     * Sets the engine used by the BigDecimal getValueAt methods.
+     *
+     * @param mode The new evaluation mode.
+     */
+    public void setEvaluationMode(EvaluationMode mode) {
+        this.mode = Objects.requireNonNull(mode, "mode cannot be null");
+    }
+
+    /**
+     * Links the expression into method handle chains so the JVM can inline the whole formula,
+     * for both engines. If linking is not possible the expression keeps being interpreted.
+     *
+     * @return True if the expression was linked, false if it keeps being interpreted.
+     * @see CompiledExpression#jitCompile()
+     */
+    public boolean jitCompile() {
+        return expression.jitCompile();
+    }
+
+    /**
+     * Checks if the current {@link Accuracy} can be reached with double arithmetic.
+     *
+     * @return True if the accuracy is at most {@link #DOUBLE_DIGITS} digits, false otherwise.
+     */
+    public static boolean fitsInDouble() {
+        return Accuracy.getValue() <= DOUBLE_DIGITS;
+    }
+
+    /**
+     * Checks if the double engine should be used with the current mode and accuracy.
+     *
+     * @return True if the double engine should be used, false otherwise.
+     */
+    private boolean usesDouble() {
+        return mode == EvaluationMode.DOUBLE || (mode == EvaluationMode.AUTO && fitsInDouble());
+    }
+
+    /**
+     * Returns the derivative of the given rank of the function with respect to x, computed symbolically.
+     * The compiled derivatives are kept, so asking again for a rank already reached does not differentiate again.
+     * Every call returns a new function, using the evaluation mode of this function at the time of the call.
+     *
+     * @param rank The order of the derivative (e.g., 1 for first derivative, 2 for second derivative, and so on).
+     * @return The derivative as a new ExpressionFunction, or this function if rank is 0.
+     * @throws ArithmeticException if rank is smaller than zero
+     */
+    public ExpressionFunction getDerivative(int rank) {
+        if (rank < 0)
+            throw new ArithmeticException("invalid rank");
+        if (rank == 0)
+            return this;
+        ExpressionFunction res;
+        synchronized (derivatives) {
+            while (derivatives.size() < rank) {
+                CompiledExpression last = derivatives.isEmpty() ? expression : derivatives.get(derivatives.size() - 1);
+                derivatives.add(last.derivative('x'));
+            }
+            res = new ExpressionFunction(derivatives.get(rank - 1));
+        }
+        res.mode = mode;
+        return res;
+    }
+
+    /**
+     * Returns the partial derivative of the given rank of the function with respect to x or y, computed symbolically.
+     *
+     * @param variable The variable to differentiate with respect to, 'x' or 'y'.
+     * @param rank     The order of the derivative.
+     * @return The partial derivative as a new ExpressionFunction, or this function if rank is 0.
+     * @throws ArithmeticException if the variable is neither 'x' nor 'y' or rank is smaller than zero
+     */
+    public ExpressionFunction getPartialDerivative(char variable, int rank) {
+        if (variable != 'x' && variable != 'y')
+            throw new ArithmeticException("invalid inputs : variable must be x or y");
+        if (variable == 'x')
+            return getDerivative(rank);
+        if (rank < 0)
+            throw new ArithmeticException("invalid rank");
+        if (rank == 0)
+            return this;
+        ExpressionFunction res = new ExpressionFunction(expression.derivative(variable, rank));
+        res.setEvaluationMode(mode);
+        return res;
+    }
+
+    /**
+     * Evaluates the function with its first and second derivatives at the given x-coordinate in a single pass,
+     * using forward mode automatic differentiation on {@link HyperDual} numbers.
+     *
+     * @param x The x-coordinate at which to evaluate the function.
+     * @return The value of the function with its first and second derivatives.
+     * @throws ArithmeticException If an error occurs during evaluation.
+     */
+    public HyperDual getDualAt(BigDecimal x) {
+        HyperDual res;
+        try {
+            res = expression.evaluateDual(x);
+        } catch (Exception e) {
+            throw new ArithmeticException("invalid function");
+        }
+        return res;
+    }
+
+    /**
+     * Computes the value of the derivative of the function at the given x-coordinate,
+     * by evaluating the symbolic derivative of {@link #getDerivative(int)}.
      *
      * @param x    The x-coordinate at which to compute the derivative.
      * @param rank The order of the derivative (e.g., 1 for first derivative, 2 for second derivative, and so on).
      * @return The value of the derivative of the function at the given x-coordinate.
+     * @throws ArithmeticException if rank is smaller than zero or an error occurs during evaluation
      */
     public BigDecimal getDiffAt(BigDecimal x, int rank) {
-        PointsFunction pf = this.toPointsFunction(x, x.add(new BigDecimal(100)), 200);
-        Polynomial poly = Interpolation.NewtonForwardDividedSubtractions.getIFAP(pf, pf.getXp().size() - 1);
-        return poly.getDiffAt(x, rank);
+        return getDerivative(rank).getValueAt(x);
     }
 
     /**
@@ -117,15 +383,29 @@ public class ExpressionFunction implements Function {
         n--;
         BigDecimal h = (b.subtract(a)).divide(new BigDecimal(n), Accuracy.getValue() + 3, RoundingMode.HALF_UP);
         h = h.round(new MathContext(Accuracy.getValue(), RoundingMode.HALF_UP));
-        ArrayList<BigDecimal> xp = new ArrayList<>();
-        ArrayList<BigDecimal> yp = new ArrayList<>();
+        BigDecimal[] xs = new BigDecimal[n + 1];
+        BigDecimal[] ys = new BigDecimal[n + 1];
         BigDecimal curr = new BigDecimal(a.toString());
         for (int i = 0; i <= n; i++) {
-            xp.add(curr);
-            yp.add(getValueAt(curr));
+            xs[i] = curr;
             curr = curr.add(h);
         }
-        return new PointsFunction(xp, yp);
+        getValuesAt(xs, ys);
+        return new PointsFunction(new ArrayList<>(Arrays.asList(xs)), new ArrayList<>(Arrays.asList(ys)));
+    }
+
+    /**
+     * Approximates the function on [a, b] by its Chebyshev series, whose degree is chosen to meet the tolerance.
+     * The series is then evaluated at polynomial cost instead of evaluating the expression.
+     *
+     * @param a         The lower bound of the interval.
+     * @param b         The upper bound of the interval.
+     * @param tolerance The largest absolute error allowed on [a, b].
+     * @return The {@link ChebyshevFunction} approximating the function.
+     * @throws ArithmeticException if an input is null, a is not smaller than b or the series does not converge
+     */
+    public ChebyshevFunction toChebyshevFunction(BigDecimal a, BigDecimal b, BigDecimal tolerance) {
+        return ChebyshevFunction.of(this, a, b, tolerance);
     }
 
     /**
@@ -162,4 +442,22 @@ public class ExpressionFunction implements Function {
     public String toString() {
         return "F(x) = " + func;
     }
+
+    /**
+     * The EvaluationMode enum selects the arithmetic used to evaluate an ExpressionFunction.
+     */
+    public enum EvaluationMode {
+        /**
+         * Always evaluate with BigDecimal arithmetic, honoring any {@link Accuracy}
+         */
+        BIG_DECIMAL,
+        /**
+         * Always evaluate with double arithmetic
+         */
+        DOUBLE,
+        /**
+         * Evaluate with double arithmetic while the {@link Accuracy} fits in a double, and with BigDecimal otherwise
+         */
+        AUTO
+    }
 }
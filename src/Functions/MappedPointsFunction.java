@@ -0,0 +1,393 @@
+package Functions;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.math.BigDecimal;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+
+/**
+ * The MappedPointsFunction class is a read-only {@link PointsFunction} whose points stay in a memory-mapped binary file,
+ * so that sets of points larger than the heap can be integrated, differentiated and fitted.
+ * <p>
+ * The file format is, in big-endian order :
+ * </p>
+ * <pre>
+ * offset  size  content
+ * 0       4     magic number 0x4E435054 ("NCPT")
+ * 4       4     version, 1
+ * 8       8     count n of points
+ * 16      16n   n pairs (double x, double y)
+ * </pre>
+ * <p>
+ * The file is mapped in chunks of {@link #CHUNK_POINTS} points, each one a {@link MappedByteBuffer}, and the points are
+ * read on demand, so the heap footprint does not depend on the size of the file. The accessors
+ * {@link #size()}, {@link #getX(int)} and {@link #getValueAt(int)} read the buffers directly, which is how
+ * {@link Numerics.Integral}, {@link Numerics.Differentiation.Subtractions} and {@link Numerics.Interpolation.LeastSquares}
+ * go over the points. {@link #getXp()} and {@link #getYp()} copy every point into the heap.
+ * </p>
+ * <p>
+ * Whether the x points are increasing and equally spaced is found by one pass over the file, on the first lookup;
+ * increasing points are then found by binary search, and equally spaced ones in O(1).
+ * </p>
+ *
+ * <p>Usage Example:</p>
+ * <pre>{@code
+ * MappedPointsFunction.convert(Path.of("data.csv"), Path.of("data.bin"));
+ * MappedPointsFunction func = MappedPointsFunction.open(Path.of("data.bin"));
+ * BigDecimal area = Integral.getTraps(func, func.getX(0), func.getX(func.size() - 1), func.size() - 1);
+ * }</pre>
+ */
+@SuppressWarnings("all")
+public class MappedPointsFunction extends PointsFunction {
+    /**
+     * The magic number at the start of the files
+     */
+    public static final int MAGIC = 0x4E435054;
+
+    /**
+     * The version of the file format
+     */
+    public static final int VERSION = 1;
+
+    /**
+     * The size of the header in bytes
+     */
+    public static final int HEADER_BYTES = 16;
+
+    /**
+     * The number of points of each mapped chunk
+     */
+    public static final int CHUNK_POINTS = 1 << 26;
+
+    private static final int POINT_BYTES = 16;
+
+    private final Path path;
+    private final long count;
+    private final MappedByteBuffer[] chunks;
+
+    /**
+     * Whether the x points are increasing, found on the first lookup
+     */
+    private Boolean sorted;
+
+    /**
+     * Whether the x points are equally spaced, found on the first lookup
+     */
+    private boolean uniform;
+
+    private MappedPointsFunction(Path path, long count, MappedByteBuffer[] chunks) {
+        super(new ArrayList<>(), new ArrayList<>());
+        this.path = path;
+        this.count = count;
+        this.chunks = chunks;
+    }
+
+    /**
+     * Opens a binary file of points and maps it in memory.
+     *
+     * @param path the path of the file
+     * @return the points of the file as a read-only {@link PointsFunction}
+     * @throws IOException if the file cannot be read or is not in the format of this class
+     */
+    public static MappedPointsFunction open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_BYTES)
+                throw new IOException("invalid file : missing header");
+            MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_BYTES);
+            if (header.getInt(0) != MAGIC)
+                throw new IOException("invalid file : bad magic number");
+            if (header.getInt(4) != VERSION)
+                throw new IOException("invalid file : unsupported version " + header.getInt(4));
+            long count = header.getLong(8);
+            if (count < 0 || count > Integer.MAX_VALUE || channel.size() < HEADER_BYTES + count * POINT_BYTES)
+                throw new IOException("invalid file : bad count of points " + count);
+            // the mappings stay valid after the channel is closed
+            int n = (int) ((count + CHUNK_POINTS - 1) / CHUNK_POINTS);
+            MappedByteBuffer[] chunks = new MappedByteBuffer[n];
+            for (int i = 0; i < n; i++) {
+                long first = (long) i * CHUNK_POINTS;
+                long points = Math.min(CHUNK_POINTS, count - first);
+                chunks[i] = channel.map(FileChannel.MapMode.READ_ONLY, HEADER_BYTES + first * POINT_BYTES, points * POINT_BYTES);
+            }
+            return new MappedPointsFunction(path, count, chunks);
+        }
+    }
+
+    /**
+     * Writes the points of a function into a binary file of the format of this class.
+     * The coordinates are stored as doubles.
+     *
+     * @param func the function whose points are written
+     * @param path the path of the file, replaced if it exists
+     * @throws IOException          if the file cannot be written
+     * @throws ArithmeticException  if the given function is null
+     */
+    public static void write(PointsFunction func, Path path) throws IOException {
+        if (func == null)
+            throw new ArithmeticException("invalid inputs : Function cannot be null");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(func.size());
+            for (int i = 0; i < func.size(); i++) {
+                out.writeDouble(func.getX(i).doubleValue());
+                out.writeDouble(func.getValueAt(i).doubleValue());
+            }
+        }
+    }
+
+    /**
+     * Converts a CSV file of points into a binary file of the format of this class, one line at a time.
+     * <p>
+     * Every line holds x and y separated by a comma, a semicolon or spaces. Empty lines are skipped,
+     * and so is the first line if it is not numeric (a header).
+     * </p>
+     *
+     * @param csv  the path of the CSV file
+     * @param path the path of the binary file, replaced if it exists
+     * @return the number of converted points
+     * @throws IOException if a file cannot be read or written, or a line is not a point
+     */
+    public static long convert(Path csv, Path path) throws IOException {
+        long count = 0;
+        try (BufferedReader in = Files.newBufferedReader(csv);
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            // the count is written once known
+            out.writeLong(0);
+            String line;
+            long number = 0;
+            while ((line = in.readLine()) != null) {
+                number++;
+                line = line.trim();
+                if (line.isEmpty())
+                    continue;
+                String[] parts = line.split("\\s*[,;]\\s*|\\s+");
+                double x, y;
+                try {
+                    if (parts.length != 2)
+                        throw new NumberFormatException();
+                    x = Double.parseDouble(parts[0]);
+                    y = Double.parseDouble(parts[1]);
+                } catch (NumberFormatException e) {
+                    if (number == 1)
+                        continue;
+                    throw new IOException("invalid line " + number + " : " + line);
+                }
+                out.writeDouble(x);
+                out.writeDouble(y);
+                count++;
+            }
+        }
+        try (RandomAccessFile file = new RandomAccessFile(path.toFile(), "rw")) {
+            file.seek(8);
+            file.writeLong(count);
+        }
+        return count;
+    }
+
+    private double readX(long i) {
+        return chunks[(int) (i / CHUNK_POINTS)].getDouble((int) (i % CHUNK_POINTS) * POINT_BYTES);
+    }
+
+    private double readY(long i) {
+        return chunks[(int) (i / CHUNK_POINTS)].getDouble((int) (i % CHUNK_POINTS) * POINT_BYTES + 8);
+    }
+
+    /**
+     * Finds once whether the x points are increasing and equally spaced.
+     */
+    private void scan() {
+        if (sorted != null)
+            return;
+        boolean increasing = true, equal = count > 1;
+        BigDecimal step = count > 1 ? getStep() : null;
+        BigDecimal previous = count > 0 ? BigDecimal.valueOf(readX(0)) : null;
+        for (long i = 1; i < count && (increasing || equal); i++) {
+            BigDecimal x = BigDecimal.valueOf(readX(i));
+            BigDecimal h = x.subtract(previous);
+            increasing = increasing && h.signum() > 0;
+            equal = equal && h.compareTo(step) == 0;
+            previous = x;
+        }
+        uniform = equal || count <= 2;
+        sorted = increasing;
+    }
+
+    /**
+     * Returns the number of points of the file.
+     *
+     * @return The number of points.
+     */
+    @Override
+    public int size() {
+        return (int) count;
+    }
+
+    /**
+     * Returns the x-coordinate at the given index, read from the mapped file.
+     *
+     * @param index The index of the point.
+     * @return The x-coordinate of the point.
+     */
+    @Override
+    public BigDecimal getX(int index) {
+        if (index < 0 || index >= count)
+            throw new IndexOutOfBoundsException(index);
+        return BigDecimal.valueOf(readX(index));
+    }
+
+    /**
+     * Returns the y-coordinate at the given index, read from the mapped file.
+     *
+     * @param index The index of the point.
+     * @return The y-coordinate of the point.
+     */
+    @Override
+    public BigDecimal getValueAt(int index) {
+        if (index < 0 || index >= count)
+            throw new IndexOutOfBoundsException(index);
+        return BigDecimal.valueOf(readY(index));
+    }
+
+    /**
+     * Evaluates the value of the function at the given x-coordinate.
+     *
+     * @param x The x-coordinate at which to evaluate the function.
+     * @return The value of the function at the given x-coordinate.
+     * @throws ArithmeticException if x is not a point of the function
+     */
+    @Override
+    public BigDecimal getValueAt(BigDecimal x) {
+        int i = indexOf(x);
+        if (i < 0)
+            throw new ArithmeticException("invalid inputs : element do not exist");
+        return getValueAt(i);
+    }
+
+    /**
+     * Returns the index of the given x-coordinate : in O(1) for equally spaced points, by binary search for increasing
+     * points, and by a scan of the file otherwise. The x-coordinates are compared by value.
+     *
+     * @param x The x-coordinate to look for.
+     * @return The index of x, or -1 if x is not a point of the function.
+     */
+    @Override
+    public int indexOf(BigDecimal x) {
+        scan();
+        if (uniform && count > 1) {
+            BigDecimal[] qr = x.subtract(getX(0)).divideAndRemainder(getStep());
+            if (qr[1].signum() == 0 && qr[0].signum() >= 0 && qr[0].compareTo(BigDecimal.valueOf(count)) < 0) {
+                int i = qr[0].intValueExact();
+                return getX(i).compareTo(x) == 0 ? i : -1;
+            }
+            return -1;
+        }
+        if (sorted) {
+            long lo = 0, hi = count - 1;
+            while (lo <= hi) {
+                long mid = (lo + hi) >>> 1;
+                int c = BigDecimal.valueOf(readX(mid)).compareTo(x);
+                if (c == 0)
+                    return (int) mid;
+                else if (c < 0)
+                    lo = mid + 1;
+                else
+                    hi = mid - 1;
+            }
+            return -1;
+        }
+        for (long i = 0; i < count; i++)
+            if (BigDecimal.valueOf(readX(i)).compareTo(x) == 0)
+                return (int) i;
+        return -1;
+    }
+
+    /**
+     * Checks if the x-coordinates are equally spaced, from one pass over the file done once.
+     *
+     * @return True if every step xi+1 - xi is the same, false otherwise.
+     */
+    @Override
+    public boolean isUniform() {
+        scan();
+        return uniform;
+    }
+
+    /**
+     * Returns the step h = x1 - x0 of the x-coordinates.
+     *
+     * @return The step between the first two points.
+     * @throws ArithmeticException if the file has less than two points
+     */
+    @Override
+    public BigDecimal getStep() {
+        if (count < 2)
+            throw new ArithmeticException("invalid inputs : at least two points are needed");
+        return getX(1).subtract(getX(0));
+    }
+
+    /**
+     * Not supported, the function is read-only.
+     *
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public void addPoint(BigDecimal x, BigDecimal y) {
+        throw new UnsupportedOperationException("read-only function : " + path);
+    }
+
+    /**
+     * Returns a copy of every x-coordinate, loaded into the heap.
+     *
+     * @return The list of x-coordinates.
+     */
+    @Override
+    public ArrayList<BigDecimal> getXp() {
+        ArrayList<BigDecimal> xp = new ArrayList<>((int) count);
+        for (long i = 0; i < count; i++)
+            xp.add(BigDecimal.valueOf(readX(i)));
+        return xp;
+    }
+
+    /**
+     * Returns a copy of every y-coordinate, loaded into the heap.
+     *
+     * @return The list of y-coordinates.
+     */
+    @Override
+    public ArrayList<BigDecimal> getYp() {
+        ArrayList<BigDecimal> yp = new ArrayList<>((int) count);
+        for (long i = 0; i < count; i++)
+            yp.add(BigDecimal.valueOf(readY(i)));
+        return yp;
+    }
+
+    /**
+     * Returns the path of the mapped file.
+     *
+     * @return The path of the file.
+     */
+    public Path getPath() {
+        return path;
+    }
+
+    /**
+     * Returns a short description of the function, the points not being listed.
+     *
+     * @return The string representation of the function.
+     */
+    @Override
+    public String toString() {
+        return "MappedPointsFunction[" + path + ", " + count + " points]";
+    }
+}
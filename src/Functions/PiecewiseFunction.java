@@ -0,0 +1,293 @@
+package Functions;
+
+import Util.Accuracy;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * The PiecewiseFunction class represents a function made of one {@link Polynomial} per interval [xi, xi+1] of sorted knots.
+ * <p>
+ * Every piece is written in the local variable t = x - xi of its interval, which keeps its coefficients small.
+ * The knots are also kept in a sorted primitive array, where the interval of x is found by binary search;
+ * the last interval found is remembered, so evaluating at increasing or close x takes O(1) per point.
+ * Outside [x0, xn] the first and last pieces are extended.
+ * </p>
+ *
+ * <p>Usage Example:</p>
+ * <pre>{@code
+ * PiecewiseFunction f = Interpolation.Spline.getPiecewise(func);
+ * BigDecimal y = f.getValueAt(new BigDecimal("2.5"));
+ * f.getValuesAt(sortedXs, out);
+ * }</pre>
+ */
+@SuppressWarnings("all")
+public class PiecewiseFunction implements Function {
+    private final BigDecimal[] knots;
+
+    /**
+     * The knots as doubles, for the search of the intervals
+     */
+    private final double[] keys;
+
+    private final Polynomial[] pieces;
+
+    /**
+     * integrals[i] is the integral of the function from x0 to xi
+     */
+    private final BigDecimal[] integrals;
+
+    /**
+     * The antiderivatives of the pieces, vanishing at the start of their interval
+     */
+    private final Polynomial[] antiderivatives;
+
+    /**
+     * The coefficients of the pieces as doubles, built on first use
+     */
+    private double[][] doublePieces;
+
+    /**
+     * The interval found by the last search
+     */
+    private int last;
+
+    /**
+     * Constructs a piecewise function from its knots and pieces.
+     *
+     * @param knots  the strictly increasing bounds of the intervals x0, x1 ... xn
+     * @param pieces the n pieces, the piece i being evaluated at x - xi on [xi, xi+1]
+     * @throws ArithmeticException if an input is null, there is not one piece less than knots,
+     *                             or the knots are not strictly increasing
+     */
+    public PiecewiseFunction(ArrayList<BigDecimal> knots, ArrayList<Polynomial> pieces) {
+        this(knots == null ? null : knots.toArray(new BigDecimal[0]), pieces == null ? null : pieces.toArray(new Polynomial[0]));
+    }
+
+    PiecewiseFunction(BigDecimal[] knots, Polynomial[] pieces) {
+        if (knots == null || pieces == null)
+            throw new ArithmeticException("invalid inputs : knots and pieces cannot be null");
+        else if (pieces.length == 0 || knots.length != pieces.length + 1)
+            throw new ArithmeticException("invalid inputs : there must be one piece less than knots");
+        this.knots = knots;
+        this.pieces = pieces;
+        keys = new double[knots.length];
+        for (int i = 0; i < knots.length; i++) {
+            if (i > 0 && knots[i].compareTo(knots[i - 1]) <= 0)
+                throw new ArithmeticException("invalid inputs : knots must be strictly increasing");
+            keys[i] = knots[i].doubleValue();
+        }
+        antiderivatives = new Polynomial[pieces.length];
+        integrals = new BigDecimal[knots.length];
+        integrals[0] = new BigDecimal(0);
+        for (int i = 0; i < pieces.length; i++) {
+            antiderivatives[i] = getAntiderivative(pieces[i]);
+            integrals[i + 1] = integrals[i].add(Polynomial.Horner.getValueAt(antiderivatives[i], knots[i + 1].subtract(knots[i])));
+        }
+    }
+
+    /**
+     * Returns the antiderivative of p vanishing at zero, its coefficients kept at the scale of the divisions
+     * ({@link Polynomial#getIntegral()} rounds them to the accuracy).
+     */
+    private static Polynomial getAntiderivative(Polynomial p) {
+        ArrayList<BigDecimal> coeffs = p.getCoeffs();
+        ArrayList<BigDecimal> res = new ArrayList<>(coeffs.size() + 1);
+        res.add(new BigDecimal(0));
+        for (int i = 0; i < coeffs.size(); i++)
+            res.add(coeffs.get(i).divide(new BigDecimal(i + 1), Accuracy.getValue() + 3, RoundingMode.HALF_UP));
+        return new Polynomial(res);
+    }
+
+    /**
+     * Returns the index of the piece holding x : the greatest i with xi &lt;= x, kept in the range of the pieces.
+     * The last found piece and the next one are tried first, then a binary search over the double keys is done,
+     * corrected with exact comparisons where doubles cannot separate close knots.
+     */
+    private int getPiece(BigDecimal x) {
+        int i = last;
+        if (holds(i, x))
+            return i;
+        if (holds(i + 1, x)) {
+            last = i + 1;
+            return i + 1;
+        }
+        int p = Arrays.binarySearch(keys, x.doubleValue());
+        // the greatest key <= x
+        i = p >= 0 ? p : -p - 2;
+        i = Math.max(0, Math.min(i, pieces.length - 1));
+        while (i > 0 && knots[i].compareTo(x) > 0)
+            i--;
+        while (i < pieces.length - 1 && knots[i + 1].compareTo(x) <= 0)
+            i++;
+        last = i;
+        return i;
+    }
+
+    /**
+     * Checks if x belongs to the piece i, the first and last pieces being extended.
+     */
+    private boolean holds(int i, BigDecimal x) {
+        if (i < 0 || i >= pieces.length)
+            return false;
+        return (i == 0 || knots[i].compareTo(x) <= 0) && (i == pieces.length - 1 || x.compareTo(knots[i + 1]) < 0);
+    }
+
+    /**
+     * Evaluates the function at the given x-coordinate.
+     *
+     * @param x The x-coordinate at which to evaluate the function.
+     * @return The value of the function at x.
+     */
+    public BigDecimal getValueAt(BigDecimal x) {
+        int i = getPiece(x);
+        return Polynomial.Horner.getValueAt(pieces[i], x.subtract(knots[i]));
+    }
+
+    /**
+     * Evaluates the function at every value of xs, writing the results into out.
+     * <p>
+     * The values of xs must be in increasing order : the pieces and the queries are walked together,
+     * so the whole evaluation takes O(n + m) comparisons for n knots and m values.
+     * </p>
+     *
+     * @param xs  the increasing x points to evaluate the function at
+     * @param out the array receiving the values, out[i] being the value at xs[i]
+     * @throws ArithmeticException if an array is null, out is shorter than xs or xs is not increasing
+     */
+    public void getValuesAt(BigDecimal[] xs, BigDecimal[] out) {
+        if (xs == null || out == null)
+            throw new ArithmeticException("invalid inputs : arrays cannot be null");
+        else if (out.length < xs.length)
+            throw new ArithmeticException("invalid inputs : out is shorter than xs");
+        int i = 0;
+        for (int j = 0; j < xs.length; j++) {
+            if (j > 0 && xs[j].compareTo(xs[j - 1]) < 0)
+                throw new ArithmeticException("invalid inputs : xs must be in increasing order");
+            while (i < pieces.length - 1 && knots[i + 1].compareTo(xs[j]) <= 0)
+                i++;
+            out[j] = Polynomial.Horner.getValueAt(pieces[i], xs[j].subtract(knots[i]));
+        }
+    }
+
+    /**
+     * Evaluates the function with double arithmetic at every value of xs, writing the results into out.
+     * The values of xs must be in increasing order, the pieces and the queries being walked together.
+     *
+     * @param xs  the increasing x points to evaluate the function at
+     * @param out the array receiving the values, out[i] being the value at xs[i]
+     * @throws ArithmeticException if an array is null, out is shorter than xs or xs is not increasing
+     */
+    public void getValuesAt(double[] xs, double[] out) {
+        if (xs == null || out == null)
+            throw new ArithmeticException("invalid inputs : arrays cannot be null");
+        else if (out.length < xs.length)
+            throw new ArithmeticException("invalid inputs : out is shorter than xs");
+        double[][] c = getDoublePieces();
+        int i = 0;
+        for (int j = 0; j < xs.length; j++) {
+            if (j > 0 && xs[j] < xs[j - 1])
+                throw new ArithmeticException("invalid inputs : xs must be in increasing order");
+            while (i < pieces.length - 1 && keys[i + 1] <= xs[j])
+                i++;
+            double[] ci = c[i];
+            double t = xs[j] - keys[i];
+            double bi = ci.length > 0 ? ci[ci.length - 1] : 0;
+            for (int k = ci.length - 2; k >= 0; k--)
+                bi = bi * t + ci[k];
+            out[j] = bi;
+        }
+    }
+
+    private double[][] getDoublePieces() {
+        double[][] c = doublePieces;
+        if (c == null) {
+            c = new double[pieces.length][];
+            for (int i = 0; i < pieces.length; i++) {
+                ArrayList<BigDecimal> coeffs = pieces[i].getCoeffs();
+                c[i] = new double[coeffs.size()];
+                for (int k = 0; k < coeffs.size(); k++)
+                    c[i][k] = coeffs.get(k).doubleValue();
+            }
+            doublePieces = c;
+        }
+        return c;
+    }
+
+    /**
+     * Computes the value of the derivative of the function at the given x-coordinate, from the piece holding x.
+     *
+     * @param x    The x-coordinate at which to compute the derivative.
+     * @param rank The order of the derivative.
+     * @return The value of the derivative at x.
+     * @throws ArithmeticException if rank is smaller than zero
+     */
+    public BigDecimal getDiffAt(BigDecimal x, int rank) {
+        if (rank == 0)
+            return getValueAt(x);
+        int i = getPiece(x);
+        return Polynomial.Horner.getDiffAt(pieces[i], x.subtract(knots[i]), rank);
+    }
+
+    /**
+     * Computes the integral of the function from the first knot to the given x-coordinate, in O(log n)
+     * using the integrals of the pieces accumulated on construction.
+     *
+     * @param x    The x-coordinate at which to compute the integral.
+     * @param rank The order of the integral, 0 giving the value of the function.
+     * @return The value of the integral at x.
+     * @throws ArithmeticException if rank is smaller than zero or greater than one
+     */
+    public BigDecimal getIntegralAt(BigDecimal x, int rank) {
+        if (rank < 0 || rank > 1)
+            throw new ArithmeticException("invalid rank");
+        if (rank == 0)
+            return getValueAt(x);
+        int i = getPiece(x);
+        return integrals[i].add(Polynomial.Horner.getValueAt(antiderivatives[i], x.subtract(knots[i])));
+    }
+
+    /**
+     * Returns the knots of the function.
+     *
+     * @return A copy of the knots.
+     */
+    public ArrayList<BigDecimal> getKnots() {
+        return new ArrayList<>(Arrays.asList(knots));
+    }
+
+    /**
+     * Returns the pieces of the function, the piece i being evaluated at x - xi.
+     *
+     * @return A copy of the list of pieces.
+     */
+    public ArrayList<Polynomial> getPieces() {
+        return new ArrayList<>(Arrays.asList(pieces));
+    }
+
+    /**
+     * Returns the number of knots of the function.
+     *
+     * @return The number of knots.
+     */
+    public int size() {
+        return knots.length;
+    }
+
+    /**
+     * Returns the string representation of the function, one piece per line, each piece Si being taken at x - xi.
+     *
+     * @return The string representation of the function.
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < pieces.length; i++) {
+            sb.append("x in [").append(knots[i]).append(", ").append(knots[i + 1]).append("] : S").append(i)
+                    .append("(x - ").append(knots[i]).append(") , S").append(i).append("(x) = ").append(pieces[i]).append('\n');
+        }
+        return sb.toString();
+    }
+}
@@ -1,6 +1,6 @@
 package Functions;
 
-import Numerics.Interpolation;
+import Util.Accuracy;
 
 import java.math.BigDecimal;
 import java.util.ArrayList;
@@ -16,6 +16,21 @@ public class PointsFunction implements Function {
     private final ArrayList<BigDecimal> xp;
     private final ArrayList<BigDecimal> yp;
 
+    /**
+     * The divided differences of the points, built on first use and extended as points are added
+     */
+    private DividedDifferences table;
+
+    /**
+     * The hash of the first hashed points, extended as points are added
+     */
+    private long contentHash;
+
+    /**
+     * The number of points folded into contentHash, -1 when it must be computed again
+     */
+    private int hashed = -1;
+
     /**
      * Constructs a PointsFunction with the given x and y coordinate lists.
      *
@@ -39,7 +54,7 @@ public class PointsFunction implements Function {
      * @return The value of the function at the given x-coordinate.
      */
     public BigDecimal getValueAt(BigDecimal x) {
-        return yp.get(xp.indexOf(x));
+        return yp.get(indexOf(x));
     }
 
     /**
@@ -52,6 +67,59 @@ public class PointsFunction implements Function {
         return yp.get(index);
     }
 
+    /**
+     * Returns the number of points of the function.
+     *
+     * @return The number of points.
+     */
+    public int size() {
+        return xp.size();
+    }
+
+    /**
+     * Returns the x-coordinate at the given index.
+     *
+     * @param index The index of the point.
+     * @return The x-coordinate of the point.
+     */
+    public BigDecimal getX(int index) {
+        return xp.get(index);
+    }
+
+    /**
+     * Returns the index of the given x-coordinate, scanning the points.
+     *
+     * @param x The x-coordinate to look for.
+     * @return The index of x, or -1 if x is not a point of the function.
+     */
+    public int indexOf(BigDecimal x) {
+        return xp.indexOf(x);
+    }
+
+    /**
+     * Checks if the x-coordinates are equally spaced, scanning the points.
+     *
+     * @return True if every step xi+1 - xi is the same, false otherwise.
+     */
+    public boolean isUniform() {
+        for (int i = 1; i < xp.size() - 1; i++)
+            if (xp.get(i + 1).subtract(xp.get(i)).compareTo(xp.get(1).subtract(xp.get(0))) != 0)
+                return false;
+        return true;
+    }
+
+    /**
+     * Returns the step h = x1 - x0 of the x-coordinates.
+     *
+     * @return The step between the first two points.
+     * @throws ArithmeticException if the function has less than two points
+     */
+    public BigDecimal getStep() {
+        if (xp.size() < 2)
+            throw new ArithmeticException("invalid inputs : at least two points are needed");
+        return xp.get(1).subtract(xp.get(0));
+    }
+
     /**
      * Adds a new point to the function with the given x and y coordinates.
      *
@@ -61,29 +129,98 @@ public class PointsFunction implements Function {
     public void addPoint(BigDecimal x, BigDecimal y) {
         xp.add(x);
         yp.add(y);
+        if (table != null && table.size() == xp.size() - 1)
+            table.addPoint(x, y);
+    }
+
+    /**
+     * Drops the divided differences table and the content hash, for points that were not appended at the end.
+     */
+    void resetCaches() {
+        table = null;
+        hashed = -1;
+    }
+
+    /**
+     * Returns a 64-bit hash of the x and y coordinates of the points, in their order.
+     * <p>
+     * The hash is computed once, then extended in O(1) for every point added with {@link #addPoint(BigDecimal, BigDecimal)}
+     * or appended to {@link #getXp()} and {@link #getYp()}, so two functions holding the same points have the same hash,
+     * and a function gets a new hash when it is changed. As for {@link BigDecimal#hashCode()}, 1.0 and 1.00 hash differently.
+     * </p>
+     *
+     * @return The hash of the points.
+     */
+    public long getContentHash() {
+        int n = size();
+        if (hashed < 0 || hashed > n) {
+            contentHash = 1;
+            hashed = 0;
+        }
+        for (int i = hashed; i < n; i++) {
+            // mix the point with the splitmix64 finalizer, then fold it into the hash
+            long h = ((long) getX(i).hashCode() << 32) ^ (getValueAt(i).hashCode() & 0xffffffffL);
+            h = (h ^ (h >>> 30)) * 0xbf58476d1ce4e5b9L;
+            h = (h ^ (h >>> 27)) * 0x94d049bb133111ebL;
+            h ^= h >>> 31;
+            contentHash = contentHash * 0x9e3779b97f4a7c15L + h;
+        }
+        hashed = n;
+        return contentHash;
+    }
+
+    /**
+     * Returns the divided differences table of the function points.
+     * <p>
+     * The table is built once, then extended in O(n) for every point added with {@link #addPoint(BigDecimal, BigDecimal)}
+     * or appended to {@link #getXp()} and {@link #getYp()}. On every call the points it holds are compared with the
+     * lists in O(n), so if points were edited or removed, or the accuracy changed, it is rebuilt.
+     * </p>
+     *
+     * @return The divided differences of the function points.
+     */
+    public DividedDifferences getDividedDifferences() {
+        int n = size();
+        if (table == null || table.size() > n || table.getScale() != Accuracy.getValue() + 3 || !isFolded(table))
+            table = new DividedDifferences();
+        for (int i = table.size(); i < n; i++)
+            table.addPoint(getX(i), getValueAt(i));
+        return table;
+    }
+
+    /**
+     * Checks if the points of the table are still the first points of the function.
+     */
+    private boolean isFolded(DividedDifferences table) {
+        for (int i = 0; i < table.size(); i++)
+            if (!table.getX(i).equals(getX(i)) || !table.getValueAt(i).equals(getValueAt(i)))
+                return false;
+        return true;
     }
 
     /**
-     * Computes the value of the derivative of the function at the given x-coordinate using interpolation.
+     * Computes the value of the derivative of the function at the given x-coordinate using interpolation,
+     * from the Newton polynomial of {@link #getDividedDifferences()}.
      *
      * @param x    The x-coordinate at which to compute the derivative.
      * @param rank The order of the derivative (e.g., 1 for first derivative, 2 for second derivative, and so on).
      * @return The value of the derivative of the function at the given x-coordinate.
      */
     public BigDecimal getDiffAt(BigDecimal x, int rank) {
-        Polynomial poly = Interpolation.NewtonForwardDividedSubtractions.getIFAP(this, xp.size() - 1);
+        Polynomial poly = getDividedDifferences().getPolynomial();
         return poly.getDiffAt(x, rank);
     }
 
     /**
-     * Computes the value of the integral of the function at the given x-coordinate using interpolation.
+     * Computes the value of the integral of the function at the given x-coordinate using interpolation,
+     * from the Newton polynomial of {@link #getDividedDifferences()}.
      *
      * @param x    The x-coordinate at which to compute the integral.
      * @param rank The order of the integral (e.g., 1 for first integral, 2 for second integral, and so on).
      * @return The value of the integral of the function at the given x-coordinate.
      */
     public BigDecimal getIntegralAt(BigDecimal x, int rank) {
-        Polynomial poly = Interpolation.NewtonForwardDividedSubtractions.getIFAP(this, xp.size() - 1);
+        Polynomial poly = getDividedDifferences().getPolynomial();
         return poly.getIntegralAt(x, rank);
     }
 
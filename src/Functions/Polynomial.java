@@ -5,10 +5,12 @@ import Util.BigDecimalUtil;
 import Util.EvaluateString;
 
 import java.math.BigDecimal;
+import java.math.BigInteger;
 import java.math.MathContext;
 import java.math.RoundingMode;
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Objects;
 
 /**
@@ -23,6 +25,21 @@ public class Polynomial implements Function {
      */
     private ArrayList<BigDecimal> coeffs;
 
+    /**
+     * The highest degree evaluated with Horner's method by {@link #getValueAt(BigDecimal)}, Estrin's scheme being used above
+     */
+    public static final int ESTRIN_DEGREE = 32;
+
+    /**
+     * The number of coefficients of the shorter factor from which {@link #multiply(Polynomial)} uses Karatsuba's method
+     */
+    public static final int KARATSUBA_THRESHOLD = 24;
+
+    /**
+     * The number of coefficients of the shorter factor from which {@link #multiply(Polynomial)} uses Kronecker substitution
+     */
+    public static final int KRONECKER_THRESHOLD = 128;
+
     /**
      * Constructs a Polynomial object with the given coefficients.
      *
@@ -56,22 +73,16 @@ public class Polynomial implements Function {
     }
 
     /**
-     * Computes the value of the polynomial at the given x.
+     * Computes the value of the polynomial at the given x,
+     * with {@link Horner} up to {@link #ESTRIN_DEGREE} and with {@link Estrin} above.
      *
      * @param x the value at which to evaluate the polynomial.
      * @return the computed value of the polynomial.
      */
     public BigDecimal getValueAt(BigDecimal x) {
-        BigDecimal res = new BigDecimal(0);
-        for (int i = 0; i < coeffs.size(); i++) {
-            // Compute the contribution of the current term to the result and add it to the running sum
-            // The contribution is the coefficient times x raised to the power of the degree of the current term
-            // The degree of the current term is the number of terms remaining after the current term
-            // minus one (since the degree of the highest-order term is zero)
-            BigDecimal ans = coeffs.get(i).multiply(BigDecimalUtil.pow(x, new BigDecimal(i)));
-            res = res.add(ans);
-        }
-        return res;
+        if (coeffs.size() > ESTRIN_DEGREE + 1)
+            return Estrin.getValueAt(this, x);
+        return Horner.getValueAt(this, x);
     }
 
     /**
@@ -193,6 +204,12 @@ public class Polynomial implements Function {
 
     /**
      * Computes the product of two polynomials.
+     * <p>
+     * The multiplication adapts to the sizes : schoolbook below {@link #KARATSUBA_THRESHOLD} coefficients,
+     * Karatsuba up to {@link #KRONECKER_THRESHOLD} coefficients, and Kronecker substitution above,
+     * where both polynomials are packed into single big integers that are multiplied at once.
+     * Every path is exact.
+     * </p>
      *
      * @param other the other polynomial to multiply with this polynomial.
      * @return a new Polynomial object representing the product of the two polynomials.
@@ -200,31 +217,245 @@ public class Polynomial implements Function {
      */
     public Polynomial multiply(Polynomial other) {
         Objects.requireNonNull(other, "other cannot be null");
+        if (this.coeffs.isEmpty() || other.coeffs.isEmpty())
+            return new Polynomial(new ArrayList<>());
+        BigDecimal[] a = this.coeffs.toArray(new BigDecimal[0]);
+        BigDecimal[] b = other.coeffs.toArray(new BigDecimal[0]);
+        return new Polynomial(new ArrayList<>(Arrays.asList(multiply(a, b))));
+    }
 
-        // Create a new ArrayList to store the coefficients of the product polynomial
-        ArrayList<BigDecimal> newCoeffs = new ArrayList<>();
+    /**
+     * Returns the polynomial (x - r0) * (x - r1) * ... * (x - rn) having the given roots.
+     * The factors are multiplied along a balanced product tree, so that the large products
+     * are done by the fast paths of {@link #multiply(Polynomial)}.
+     *
+     * @param roots the roots of the polynomial.
+     * @return the monic polynomial having the given roots, 1 if there are no roots.
+     * @throws ArithmeticException if roots is null
+     */
+    public static Polynomial fromRoots(List<BigDecimal> roots) {
+        if (roots == null)
+            throw new ArithmeticException("invalid inputs : roots cannot be null");
+        if (roots.isEmpty())
+            return new Polynomial(new BigDecimal(1));
+        return new Polynomial(new ArrayList<>(Arrays.asList(fromRoots(roots, 0, roots.size()))));
+    }
 
-        // Compute the degree of the product polynomial
-        int degree = this.coeffs.size() + other.coeffs.size() - 2;
+    /**
+     * Multiplies the factors (x - ri) for from &lt;= i &lt; to.
+     *
+     * @param roots the roots.
+     * @param from  the first root, inclusive.
+     * @param to    the last root, exclusive.
+     * @return the coefficients of the product in ascending order of degree.
+     */
+    private static BigDecimal[] fromRoots(List<BigDecimal> roots, int from, int to) {
+        if (to - from == 1)
+            return new BigDecimal[]{roots.get(from).negate(), new BigDecimal(1)};
+        int mid = (from + to) >>> 1;
+        return multiply(fromRoots(roots, from, mid), fromRoots(roots, mid, to));
+    }
 
-        // Loop over each term in the product polynomial
-        for (int i = 0; i <= degree; i++) {
-            BigDecimal coeff = new BigDecimal(0);
+    /**
+     * Multiplies two non-empty coefficient arrays, choosing the algorithm by their sizes.
+     *
+     * @param a the first coefficients, in ascending order of degree.
+     * @param b the second coefficients, in ascending order of degree.
+     * @return the coefficients of the product.
+     */
+    private static BigDecimal[] multiply(BigDecimal[] a, BigDecimal[] b) {
+        if (a.length < b.length) {
+            BigDecimal[] t = a;
+            a = b;
+            b = t;
+        }
+        if (b.length < KARATSUBA_THRESHOLD)
+            return multiplySchoolbook(a, b);
+        if (b.length >= KRONECKER_THRESHOLD)
+            return multiplyKronecker(a, b);
+        if (a.length >= 2 * b.length) {
+            // unbalanced sizes : cut the longer polynomial into pieces as long as the shorter one
+            BigDecimal[] res = zeros(a.length + b.length - 1);
+            for (int off = 0; off < a.length; off += b.length) {
+                BigDecimal[] part = multiply(Arrays.copyOfRange(a, off, Math.min(off + b.length, a.length)), b);
+                addInto(res, part, off);
+            }
+            return res;
+        }
+        // drop the high zero coefficients coming from the padding of b
+        return Arrays.copyOf(multiplyKaratsuba(a, pad(b, a.length)), a.length + b.length - 1);
+    }
 
-            // Compute the coefficient of the current term as the sum of the products of the corresponding terms
-            // in the two input polynomials
-            for (int j = 0; j <= i; j++) {
-                if (j < this.coeffs.size() && (i - j) < other.coeffs.size()) {
-                    coeff = coeff.add(this.coeffs.get(j).multiply(other.coeffs.get(i - j)));
-                }
+    /**
+     * Multiplies two coefficient arrays with the schoolbook method in O(n * m).
+     */
+    private static BigDecimal[] multiplySchoolbook(BigDecimal[] a, BigDecimal[] b) {
+        BigDecimal[] res = zeros(a.length + b.length - 1);
+        for (int i = 0; i < a.length; i++) {
+            if (a[i].signum() == 0)
+                continue;
+            for (int j = 0; j < b.length; j++)
+                res[i + j] = res[i + j].add(a[i].multiply(b[j]));
+        }
+        return res;
+    }
+
+    /**
+     * Multiplies two coefficient arrays of the same length with Karatsuba's method in O(n^1.585) :
+     * with a = a0 + a1 x^h and b = b0 + b1 x^h, the middle term a0 b1 + a1 b0 is (a0 + a1)(b0 + b1) - a0 b0 - a1 b1.
+     */
+    private static BigDecimal[] multiplyKaratsuba(BigDecimal[] a, BigDecimal[] b) {
+        int n = a.length;
+        if (n < KARATSUBA_THRESHOLD)
+            return multiplySchoolbook(a, b);
+        int h = n / 2;
+        BigDecimal[] a0 = Arrays.copyOfRange(a, 0, h), a1 = Arrays.copyOfRange(a, h, n);
+        BigDecimal[] b0 = Arrays.copyOfRange(b, 0, h), b1 = Arrays.copyOfRange(b, h, n);
+        BigDecimal[] z0 = multiplyKaratsuba(a0, b0);
+        BigDecimal[] z2 = multiplyKaratsuba(a1, b1);
+        // the high halves are one longer when n is odd
+        BigDecimal[] sa = pad(a1, a1.length), sb = pad(b1, b1.length);
+        addInto(sa, a0, 0);
+        addInto(sb, b0, 0);
+        BigDecimal[] z1 = multiplyKaratsuba(sa, sb);
+        for (int i = 0; i < z0.length; i++)
+            z1[i] = z1[i].subtract(z0[i]);
+        for (int i = 0; i < z2.length; i++)
+            z1[i] = z1[i].subtract(z2[i]);
+        BigDecimal[] res = zeros(2 * n - 1);
+        addInto(res, z0, 0);
+        addInto(res, z1, h);
+        addInto(res, z2, 2 * h);
+        return res;
+    }
+
+    /**
+     * Multiplies two coefficient arrays with Kronecker substitution.
+     * <p>
+     * The coefficients are brought to a common scale and their unscaled values are written side by side into one
+     * big integer per polynomial, each in a slot wide enough to hold any coefficient of the product.
+     * This is the value of the polynomial at x = 2^slot, so one big integer multiplication
+     * (done by {@link BigInteger} with Toom-Cook) gives every coefficient of the product, read back slot by slot.
+     * </p>
+     */
+    private static BigDecimal[] multiplyKronecker(BigDecimal[] a, BigDecimal[] b) {
+        int scaleA = commonScale(a), scaleB = commonScale(b);
+        BigInteger[] ia = unscaled(a, scaleA), ib = unscaled(b, scaleB);
+        int bits = maxBitLength(ia) + maxBitLength(ib) + 32 - Integer.numberOfLeadingZeros(b.length) + 2;
+        int slot = (bits + 7) / 8;
+        int n = a.length + b.length - 1;
+        BigInteger product = pack(ia, slot, n).multiply(pack(ib, slot, n));
+        BigInteger[] ic = unpack(product, slot, n);
+        BigDecimal[] res = new BigDecimal[n];
+        for (int i = 0; i < n; i++)
+            res[i] = new BigDecimal(ic[i], scaleA + scaleB);
+        return res;
+    }
+
+    /**
+     * Returns the largest scale of the nonzero coefficients, so every coefficient has an exact unscaled value at it.
+     */
+    private static int commonScale(BigDecimal[] a) {
+        int scale = Integer.MIN_VALUE;
+        for (BigDecimal c : a)
+            if (c.signum() != 0)
+                scale = Math.max(scale, c.scale());
+        return scale == Integer.MIN_VALUE ? 0 : scale;
+    }
+
+    private static BigInteger[] unscaled(BigDecimal[] a, int scale) {
+        BigInteger[] res = new BigInteger[a.length];
+        for (int i = 0; i < a.length; i++)
+            res[i] = a[i].signum() == 0 ? BigInteger.ZERO : a[i].setScale(scale).unscaledValue();
+        return res;
+    }
+
+    private static int maxBitLength(BigInteger[] a) {
+        int bits = 0;
+        for (BigInteger c : a)
+            bits = Math.max(bits, c.abs().bitLength());
+        return bits;
+    }
+
+    /**
+     * Packs signed values c_i into the big integer sum of c_i 2^(8 slot i), over n slots in two's complement.
+     */
+    private static BigInteger pack(BigInteger[] c, int slot, int n) {
+        byte[] bytes = new byte[n * slot];
+        BigInteger base = BigInteger.ONE.shiftLeft(8 * slot);
+        BigInteger carry = BigInteger.ZERO;
+        for (int i = 0; i < c.length; i++) {
+            // write c_i + carry as an unsigned slot, a negative value borrowing one from the next slot
+            BigInteger t = c[i].add(carry);
+            carry = BigInteger.ZERO;
+            if (t.signum() < 0) {
+                t = t.add(base);
+                carry = BigInteger.ONE.negate();
             }
+            writeSlot(bytes, n - 1 - i, slot, t);
+        }
+        BigInteger res = new BigInteger(1, bytes);
+        if (carry.signum() < 0)
+            res = res.subtract(BigInteger.ONE.shiftLeft(8 * slot * c.length));
+        return res;
+    }
 
-            // Add the computed coefficient to the list of coefficients of the product polynomial
-            newCoeffs.add(coeff);
+    private static void writeSlot(byte[] bytes, int index, int slot, BigInteger value) {
+        byte[] v = value.toByteArray();
+        // toByteArray may add a leading zero byte for the sign
+        int len = Math.min(v.length, slot);
+        System.arraycopy(v, v.length - len, bytes, (index + 1) * slot - len, len);
+    }
+
+    /**
+     * Reads back n signed values from a big integer packed like {@link #pack(BigInteger[], int, int)}.
+     */
+    private static BigInteger[] unpack(BigInteger x, int slot, int n) {
+        byte[] raw = x.toByteArray();
+        byte[] bytes = new byte[n * slot];
+        // sign extend the two's complement representation to n slots
+        byte fill = (byte) (x.signum() < 0 ? -1 : 0);
+        int len = Math.min(raw.length, bytes.length);
+        Arrays.fill(bytes, 0, bytes.length - len, fill);
+        System.arraycopy(raw, raw.length - len, bytes, bytes.length - len, len);
+        BigInteger base = BigInteger.ONE.shiftLeft(8 * slot);
+        BigInteger half = BigInteger.ONE.shiftLeft(8 * slot - 1);
+        BigInteger[] res = new BigInteger[n];
+        BigInteger carry = BigInteger.ZERO;
+        for (int i = 0; i < n; i++) {
+            int start = (n - 1 - i) * slot;
+            BigInteger v = new BigInteger(1, Arrays.copyOfRange(bytes, start, start + slot)).add(carry);
+            carry = BigInteger.ZERO;
+            if (v.compareTo(half) >= 0) {
+                v = v.subtract(base);
+                carry = BigInteger.ONE;
+            }
+            res[i] = v;
         }
+        return res;
+    }
 
-        // Create a new Polynomial object using the computed coefficients and return it
-        return new Polynomial(newCoeffs);
+    private static BigDecimal[] zeros(int n) {
+        BigDecimal[] res = new BigDecimal[n];
+        Arrays.fill(res, BigDecimal.ZERO);
+        return res;
+    }
+
+    /**
+     * Returns a copy of a extended with zeros to the given length.
+     */
+    private static BigDecimal[] pad(BigDecimal[] a, int n) {
+        BigDecimal[] res = zeros(n);
+        System.arraycopy(a, 0, res, 0, Math.min(a.length, n));
+        return res;
+    }
+
+    /**
+     * Adds b into res starting at index off.
+     */
+    private static void addInto(BigDecimal[] res, BigDecimal[] b, int off) {
+        for (int i = 0; i < b.length && off + i < res.length; i++)
+            res[off + i] = res[off + i].add(b[i]);
     }
 
     /**
@@ -373,17 +604,104 @@ public class Polynomial implements Function {
         n--;
         BigDecimal h = (b.subtract(a)).divide(new BigDecimal(n), Accuracy.getValue() + 3, RoundingMode.HALF_UP);
         h = h.round(new MathContext(Accuracy.getValue(), RoundingMode.HALF_UP));
-        ArrayList<BigDecimal> xp = new ArrayList<>();
-        ArrayList<BigDecimal> yp = new ArrayList<>();
-        BigDecimal curr = new BigDecimal(a.toString());
-        for (int i = 0; i <= n; i++) {
-            xp.add(curr);
-            yp.add(getValueAt(curr));
-            curr = curr.add(h);
+        return getValuesAt(a, h, n + 1);
+    }
+
+    /**
+     * Evaluates the polynomial on the uniform grid a, a + h, a + 2h ... using forward differencing.
+     * <p>
+     * The first degree + 1 values are computed with Horner's method, then the table of forward differences
+     * Δ^k p(a) is built; every next value only takes degree additions (Δ^k += Δ^(k+1)), without any multiplication.
+     * The table is kept exact, so the values do not drift along the grid; they are rounded like {@link Horner} only on output.
+     * </p>
+     *
+     * @param a the first x point of the grid
+     * @param h the step of the grid
+     * @param n the number of points
+     * @return {@link PointsFunction} object holding the grid and the values of the polynomial on it
+     * @throws ArithmeticException if a or h is null or n&lt;=0
+     */
+    public PointsFunction getValuesAt(BigDecimal a, BigDecimal h, int n) {
+        if (a == null || h == null)
+            throw new ArithmeticException("invalid inputs : a and h cannot be null");
+        else if (n <= 0)
+            throw new ArithmeticException("invalid inputs : n cannot be smaller or equal to zero");
+        int d = Math.max(coeffs.size() - 1, 0);
+        BigDecimal[] diff = new BigDecimal[d + 1];
+        // values at the first d + 1 points, then the forward differences in place
+        for (int i = 0; i <= d; i++)
+            diff[i] = getExactValueAt(coeffs, a.add(h.multiply(new BigDecimal(i))));
+        for (int k = 1; k <= d; k++)
+            for (int i = d; i >= k; i--)
+                diff[i] = diff[i].subtract(diff[i - 1]);
+        ArrayList<BigDecimal> xp = new ArrayList<>(n);
+        ArrayList<BigDecimal> yp = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            xp.add(a.add(h.multiply(new BigDecimal(i))));
+            yp.add(diff[0].round(BigDecimalUtil.context));
+            // step every difference one point forward
+            for (int k = 0; k < d; k++)
+                diff[k] = diff[k].add(diff[k + 1]);
         }
         return new PointsFunction(xp, yp);
     }
 
+    /**
+     * Evaluates the polynomial at every x point of the given list with {@link Horner}, gathering the results
+     * into a {@link PointsFunction}.
+     *
+     * @param xs the x points to evaluate the polynomial at
+     * @return {@link PointsFunction} object holding the points and the values of the polynomial at them
+     * @throws ArithmeticException if xs is null
+     */
+    public PointsFunction getValuesAt(List<BigDecimal> xs) {
+        if (xs == null)
+            throw new ArithmeticException("invalid inputs : xs cannot be null");
+        ArrayList<BigDecimal> yp = new ArrayList<>(xs.size());
+        for (BigDecimal x : xs)
+            yp.add(Horner.getValueAt(this, x));
+        return new PointsFunction(new ArrayList<>(xs), yp);
+    }
+
+    /**
+     * Evaluates the polynomial with double arithmetic at every value of xs, writing the results into out.
+     * The coefficients are converted once and each point takes one tight Horner loop.
+     *
+     * @param xs  the x points to evaluate the polynomial at
+     * @param out the array receiving the values, out[i] being the value at xs[i]
+     * @throws ArithmeticException if an array is null or out is shorter than xs
+     */
+    public void getValuesAt(double[] xs, double[] out) {
+        if (xs == null || out == null)
+            throw new ArithmeticException("invalid inputs : arrays cannot be null");
+        else if (out.length < xs.length)
+            throw new ArithmeticException("invalid inputs : out is shorter than xs");
+        int n = coeffs.size();
+        double[] c = new double[n];
+        for (int i = 0; i < n; i++)
+            c[i] = coeffs.get(i).doubleValue();
+        for (int j = 0; j < xs.length; j++) {
+            double x = xs[j];
+            double bi = n > 0 ? c[n - 1] : 0;
+            for (int i = n - 2; i >= 0; i--)
+                bi = bi * x + c[i];
+            out[j] = bi;
+        }
+    }
+
+    /**
+     * Evaluates coefficients in ascending order of degree at x with Horner's method, without rounding.
+     */
+    private static BigDecimal getExactValueAt(List<BigDecimal> c, BigDecimal x) {
+        int n = c.size();
+        if (n == 0)
+            return new BigDecimal(0);
+        BigDecimal bi = c.get(n - 1);
+        for (int i = n - 2; i >= 0; i--)
+            bi = bi.multiply(x).add(c.get(i));
+        return bi;
+    }
+
     /**
      * Converts the function into a PointsFunction.
      *
@@ -407,27 +725,27 @@ public class Polynomial implements Function {
 
     /**
      * The Horner class provides methods for polynomial evaluation, division, and differentiation using Horner's method.
+     * <p>
+     * The methods keep no state between calls, every intermediate value lives in local variables or in an array
+     * owned by the call, so they can be used from several threads at once.
+     * Products and sums are rounded to {@link BigDecimalUtil#context} so that the scale does not grow with the degree.
+     * </p>
      */
     public static class Horner {
 
-        private static ArrayList<BigDecimal> b;
-
         /**
-         * Calculates the intermediate coefficients of the polynomial using Horner's method.
+         * Returns the coefficients of the polynomial from the highest degree term to the constant term.
          *
-         * @param poly The polynomial to evaluate.
-         * @param x    The value of x for evaluation.
+         * @param poly The polynomial.
+         * @return The coefficients in descending order of degree.
          */
-        private static void calcB(Polynomial poly, BigDecimal x) {
-            ArrayList<BigDecimal> a = new ArrayList<>(poly.getCoeffs());
-            Collections.reverse(a);
-            BigDecimal bi = a.get(0);
-            b = new ArrayList<>();
-            b.add(bi);
-            for (int i = 1; i < a.size(); i++) {
-                bi = x.multiply(bi).add(a.get(i));
-                b.add(bi);
-            }
+        private static BigDecimal[] descending(Polynomial poly) {
+            ArrayList<BigDecimal> coeffs = poly.getCoeffs();
+            int n = coeffs.size();
+            BigDecimal[] a = new BigDecimal[n];
+            for (int i = 0; i < n; i++)
+                a[i] = coeffs.get(n - 1 - i);
+            return a;
         }
 
         /**
@@ -438,8 +756,14 @@ public class Polynomial implements Function {
          * @return The result of evaluating the polynomial at x.
          */
         public static BigDecimal getValueAt(Polynomial poly, BigDecimal x) {
-            calcB(poly, x);
-            return b.get(b.size() - 1);
+            ArrayList<BigDecimal> coeffs = poly.getCoeffs();
+            int n = coeffs.size();
+            if (n == 0)
+                return new BigDecimal(0);
+            BigDecimal bi = coeffs.get(n - 1);
+            for (int i = n - 2; i >= 0; i--)
+                bi = x.multiply(bi, BigDecimalUtil.context).add(coeffs.get(i), BigDecimalUtil.context);
+            return bi;
         }
 
         /**
@@ -450,46 +774,90 @@ public class Polynomial implements Function {
          * @return The resulting polynomial after division.
          */
         public static Polynomial getDivideOn(Polynomial poly, BigDecimal x) {
-            calcB(poly, x);
-            ArrayList<BigDecimal> coeff = new ArrayList<>();
-            for (int i = 0; i < b.size() - 1; i++)
-                coeff.add(b.get(i));
-
-            Collections.reverse(coeff);
-            return new Polynomial(coeff);
+            ArrayList<BigDecimal> coeffs = poly.getCoeffs();
+            int n = coeffs.size();
+            // the quotient has one coefficient less, filled from the highest degree down
+            BigDecimal[] q = new BigDecimal[Math.max(n - 1, 0)];
+            BigDecimal bi = n > 0 ? coeffs.get(n - 1) : new BigDecimal(0);
+            for (int i = n - 2; i >= 0; i--) {
+                q[i] = bi;
+                bi = x.multiply(bi, BigDecimalUtil.context).add(coeffs.get(i), BigDecimalUtil.context);
+            }
+            return new Polynomial(new ArrayList<>(Arrays.asList(q)));
         }
 
         /**
          * Calculates the value of the derivative of the polynomial at the specified value of x and rank using Horner's method.
+         * The k-th remainder of repeated synthetic division by (x - c) is the k-th Taylor coefficient at c,
+         * so the derivative of rank k is k! times that remainder.
          *
          * @param poly The polynomial to differentiate.
          * @param x    The value of x for differentiation.
          * @param rank The rank of the derivative.
          * @return The value of the derivative at x.
+         * @throws ArithmeticException if rank is smaller than zero
          */
         public static BigDecimal getDiffAt(Polynomial poly, BigDecimal x, int rank) {
-            b = new ArrayList<>();
-            Polynomial tempPoly = new Polynomial(poly.getCoeffs());
-            BigDecimal bi = x;
+            if (rank < 0)
+                throw new ArithmeticException("invalid rank");
+            BigDecimal[] a = descending(poly);
+            if (rank >= a.length)
+                return new BigDecimal(0);
             BigDecimal factor = new BigDecimal(1);
-            for (int i = 0; i <= rank; i++) {
-                if (i > 0 && b.size() == 0) {
-                    bi = new BigDecimal(0);
-                    break;
-                }
-                calcB(tempPoly, x);
-                bi = b.get(b.size() - 1);
-                b.remove(b.size() - 1);
-                Collections.reverse(b);
-                tempPoly.coeffs = b;
-                if (i > 0)
-                    factor = factor.multiply(new BigDecimal(i));
+            for (int k = 0; k < rank; k++) {
+                // one synthetic division in place, dropping the remainder
+                for (int j = 1; j < a.length - k; j++)
+                    a[j] = x.multiply(a[j - 1], BigDecimalUtil.context).add(a[j], BigDecimalUtil.context);
+                factor = factor.multiply(new BigDecimal(k + 1));
             }
+            BigDecimal bi = a[0];
+            for (int j = 1; j < a.length - rank; j++)
+                bi = x.multiply(bi, BigDecimalUtil.context).add(a[j], BigDecimalUtil.context);
             return bi.multiply(factor);
         }
 
     }
 
+    /**
+     * The Estrin class evaluates polynomials with Estrin's scheme.
+     * <p>
+     * Neighbouring coefficients are paired into c_2i + c_2i+1 x, then the pairs are combined with x^2, x^4, ...
+     * This takes about as many multiplications as Horner's method, but the dependency chain has a length of log2(n)
+     * instead of n, so the rounding of every step is applied fewer times in a row on high degree polynomials.
+     * Like {@link Horner}, it keeps no state between calls.
+     * </p>
+     */
+    public static class Estrin {
+
+        /**
+         * Evaluates the polynomial at the specified value of x using Estrin's scheme.
+         *
+         * @param poly The polynomial to evaluate.
+         * @param x    The value of x for evaluation.
+         * @return The result of evaluating the polynomial at x.
+         */
+        public static BigDecimal getValueAt(Polynomial poly, BigDecimal x) {
+            ArrayList<BigDecimal> coeffs = poly.getCoeffs();
+            int n = coeffs.size();
+            if (n == 0)
+                return new BigDecimal(0);
+            BigDecimal[] level = coeffs.toArray(new BigDecimal[0]);
+            BigDecimal power = x;
+            while (n > 1) {
+                // level[i] = level[2i] + level[2i+1] * power, an odd last term is carried over
+                int m = (n + 1) / 2;
+                for (int i = 0; i < m; i++) {
+                    BigDecimal low = level[2 * i];
+                    level[i] = 2 * i + 1 < n ? low.add(level[2 * i + 1].multiply(power, BigDecimalUtil.context), BigDecimalUtil.context) : low;
+                }
+                n = m;
+                if (n > 1)
+                    power = power.multiply(power, BigDecimalUtil.context);
+            }
+            return level[0];
+        }
+    }
+
     /**
      * Fix the Accuracy to its main value
      * @param num the number to fix its precision
@@ -954,7 +954,7 @@ public class GUI {
         ActionListener enterGeneralMethod = e -> {
             doAction = pointsFunction -> {
                 try {
-                    Polynomial ans = Interpolation.GeneralMethod.getIFAP(pointsFunction);
+                    Polynomial ans = Interpolation.Cache.getIFAP(Interpolation.Cache.Method.GENERAL, pointsFunction, 0);
                     //create title
                     JLabel interTitle = new JLabel();
                     interTitle.setText("<html>" + languageBundle.getString("interpolationAnswer") + " " + languageBundle.getString("generalMethodTitle") + " : " + "</html>");
@@ -999,7 +999,7 @@ public class GUI {
         ActionListener enterLagrange = e -> {
             doAction = pointsFunction -> {
                 try {
-                    Polynomial ans = Interpolation.Lagrange.getIFAP(pointsFunction);
+                    Polynomial ans = Interpolation.Cache.getIFAP(Interpolation.Cache.Method.LAGRANGE, pointsFunction, 0);
 
                     //create answer title
                     JLabel interTitle = new JLabel();
@@ -1133,7 +1133,7 @@ public class GUI {
                     JScrollPane tableAnsScrollPane = new JScrollPane(tableAns);
                     tableAnsScrollPane.setPreferredSize(new Dimension(300, 70));
 
-                    Polynomial ans = Interpolation.Newton_GregoryForwardSubtractions.getIFAP(pointsFunction, degree[0]);
+                    Polynomial ans = Interpolation.Cache.getIFAP(Interpolation.Cache.Method.NEWTON_GREGORY_FORWARD, pointsFunction, degree[0]);
 
                     JLabel interTitle = new JLabel();
                     interTitle.setText("<html>" + languageBundle.getString("interpolationAnswer") + " " + languageBundle.getString("NGFSTitle") + " : " + "</html>");
@@ -1267,7 +1267,7 @@ public class GUI {
                     JScrollPane tableAnsScrollPane = new JScrollPane(tableAns);
                     tableAnsScrollPane.setPreferredSize(new Dimension(300, 70));
 
-                    Polynomial ans = Interpolation.Newton_GregoryBackwardSubtractions.getIFAP(pointsFunction, degree[0]);
+                    Polynomial ans = Interpolation.Cache.getIFAP(Interpolation.Cache.Method.NEWTON_GREGORY_BACKWARD, pointsFunction, degree[0]);
 
                     JLabel interTitle = new JLabel();
                     interTitle.setText("<html>" + languageBundle.getString("interpolationAnswer") + " " + languageBundle.getString("NGBSTitle") + " : " + "</html>");
@@ -1402,7 +1402,7 @@ public class GUI {
                     JScrollPane tableAnsScrollPane = new JScrollPane(tableAns);
                     tableAnsScrollPane.setPreferredSize(new Dimension(300, 70));
 
-                    Polynomial ans = Interpolation.NewtonForwardDividedSubtractions.getIFAP(pointsFunction, degree[0]);
+                    Polynomial ans = Interpolation.Cache.getIFAP(Interpolation.Cache.Method.NEWTON_FORWARD_DIVIDED, pointsFunction, degree[0]);
 
                     JLabel interTitle = new JLabel();
                     interTitle.setText("<html>" + languageBundle.getString("interpolationAnswer") + " " + languageBundle.getString("NFDSTitle") + " : " + "</html>");
@@ -1536,7 +1536,7 @@ public class GUI {
                     JScrollPane tableAnsScrollPane = new JScrollPane(tableAns);
                     tableAnsScrollPane.setPreferredSize(new Dimension(300, 70));
 
-                    Polynomial ans = Interpolation.NewtonBackwardDividedSubtractions.getIFAP(pointsFunction, degree[0]);
+                    Polynomial ans = Interpolation.Cache.getIFAP(Interpolation.Cache.Method.NEWTON_BACKWARD_DIVIDED, pointsFunction, degree[0]);
 
                     JLabel interTitle = new JLabel();
                     interTitle.setText("<html>" + languageBundle.getString("interpolationAnswer") + " " + languageBundle.getString("NBDSTitle") + " : " + "</html>");
@@ -1655,7 +1655,7 @@ public class GUI {
                     if (cancelPressed[0]) return;
 
 
-                    Polynomial ans = Interpolation.LeastSquares.getIFAP(pointsFunction, degree[0]);
+                    Polynomial ans = Interpolation.Cache.getIFAP(Interpolation.Cache.Method.LEAST_SQUARES, pointsFunction, degree[0]);
 
                     //create title
                     JLabel interTitle = new JLabel();
@@ -5452,11 +5452,11 @@ public class GUI {
             generateButton.setEnabled(false); // Disable the button initially
             generateButton.addActionListener(e -> {
                 String func = enterExpField.getText();
-                ExpressionFunction expFunc = new ExpressionFunction(func);
                 String a = enterAField.getText();
                 String b = enterBField.getText();
                 int n = (int) enterNSp.getValue();
                 try {
+                    ExpressionFunction expFunc = new ExpressionFunction(func);
                     PointsFunction pointsFunc = expFunc.toPointsFunction(a, b, n);
                     ArrayList<BigDecimal> xp = pointsFunc.getXp();
                     ArrayList<BigDecimal> yp = pointsFunc.getYp();
@@ -6248,21 +6248,21 @@ public class GUI {
             // solve button action
             solveButton.addActionListener(e -> {
                 String fxS = enterFxField.getText();
-                ExpressionFunction fx = new ExpressionFunction(fxS);
                 String gxS = enterGxField.getText();
-                ExpressionFunction gx = new ExpressionFunction(gxS);
                 String dfdxS = enterDfdxField.getText();
-                ExpressionFunction dfdx = new ExpressionFunction(dfdxS);
                 String dfdyS = enterDfdyField.getText();
-                ExpressionFunction dfdy = new ExpressionFunction(dfdyS);
                 String dgdxS = enterDgdxField.getText();
-                ExpressionFunction dgdx = new ExpressionFunction(dgdxS);
                 String dgdyS = enterDgdyField.getText();
-                ExpressionFunction dgdy = new ExpressionFunction(dgdyS);
                 BigDecimal x0 = EvaluateString.evaluate(enterX0Field.getText());
                 BigDecimal y0 = EvaluateString.evaluate(enterY0Field.getText());
                 int n = (int) enterNSp.getValue();
                 try {
+                    ExpressionFunction fx = new ExpressionFunction(fxS);
+                    ExpressionFunction gx = new ExpressionFunction(gxS);
+                    ExpressionFunction dfdx = new ExpressionFunction(dfdxS);
+                    ExpressionFunction dfdy = new ExpressionFunction(dfdyS);
+                    ExpressionFunction dgdx = new ExpressionFunction(dgdxS);
+                    ExpressionFunction dgdy = new ExpressionFunction(dgdyS);
                     ArrayList<ArrayList<BigDecimal>> points = SystemOfNonLinearEquations.Newton_Raphson.solve(fx, dfdx, dfdy, gx, dgdx, dgdy, x0, y0, n);
                     ArrayList<BigDecimal> xp = points.get(0);
                     ArrayList<BigDecimal> yp = points.get(1);
@@ -1,14 +1,16 @@
 package Numerics;
 
+import Functions.ExpressionFunction;
 import Util.Accuracy;
 import Util.BigDecimalUtil;
-import Util.EvaluateString;
+import Util.CompiledExpression;
 
 import java.math.BigDecimal;
 import java.math.MathContext;
 import java.math.RoundingMode;
 import java.util.ArrayList;
 import java.util.Objects;
+import java.util.function.DoubleBinaryOperator;
 
 /**
  * The DifferentialEquation class represents a differential equation and provides methods for solving it numerically.
@@ -17,13 +19,29 @@ import java.util.Objects;
 public class DifferentialEquation {
     private final String dy;
 
+    /**
+     * The dy/dx expression parsed once at construction
+     */
+    private final CompiledExpression expression;
+
+    /**
+     * The engine used to evaluate the dy/dx expression
+     */
+    private ExpressionFunction.EvaluationMode mode = ExpressionFunction.EvaluationMode.BIG_DECIMAL;
+
     /**
      * Constructs a DifferentialEquation object with the given dy/dx expression.
      *
      * @param dy The expression representing the derivative dy/dx.
+     * @throws ArithmeticException If the expression is not well-formed.
      */
     public DifferentialEquation(String dy) {
         this.dy = Objects.requireNonNull(dy);
+        try {
+            this.expression = CompiledExpression.compile(dy);
+        } catch (IllegalArgumentException e) {
+            throw new ArithmeticException("invalid function");
+        }
     }
 
     /**
@@ -32,12 +50,65 @@ public class DifferentialEquation {
      * @param x The value of x.
      * @param y The value of y.
      * @return The value of the differential equation at (x, y).
+     * @throws ArithmeticException If the double engine gives a NaN or infinite value.
      */
     public BigDecimal getValueAt(BigDecimal x, BigDecimal y) {
-        BigDecimal ans = EvaluateString.evaluate(dy, x, y);
+        if (mode == ExpressionFunction.EvaluationMode.DOUBLE
+                || (mode == ExpressionFunction.EvaluationMode.AUTO && ExpressionFunction.fitsInDouble())) {
+            double value = expression.evaluateDouble(x.doubleValue(), y.doubleValue());
+            if (!Double.isFinite(value))
+                throw new ArithmeticException("invalid function");
+            return BigDecimal.valueOf(value);
+        }
+        BigDecimal ans = expression.evaluate(x, y);
         return ans;
     }
 
+    /**
+     * Returns a view of the differential equation as a {@link DoubleBinaryOperator} of x and y,
+     * evaluated with the double engine regardless of the evaluation mode.
+     *
+     * @return The double view of the differential equation.
+     */
+    public DoubleBinaryOperator asDoubleBinaryOperator() {
+        return expression::evaluateDouble;
+    }
+
+    /**
+     * Returns the engine used to evaluate the dy/dx expression.
+     *
+     * @return The current evaluation mode.
+     */
+    public ExpressionFunction.EvaluationMode getEvaluationMode() {
+        return mode;
+    }
+
+    /**
+     * Sets the engine used to evaluate the dy/dx expression.
+     *
+     * @param mode The new evaluation mode.
+     */
+    public void setEvaluationMode(ExpressionFunction.EvaluationMode mode) {
+        this.mode = Objects.requireNonNull(mode, "mode cannot be null");
+    }
+
+    /**
+     * Returns the derivative with respect to x of this expression g(x, y) along the solutions of eq,
+     * that is g_x + g_y * f where y' = f(x, y) is given by eq. It is computed symbolically.
+     * Applied repeatedly starting from eq itself, it gives the second, third ... derivatives of y.
+     *
+     * @param eq The differential equation giving y'.
+     * @return The total derivative as a new DifferentialEquation with the same evaluation mode.
+     * @throws ArithmeticException if eq is null
+     */
+    public DifferentialEquation getTotalDerivative(DifferentialEquation eq) {
+        if (eq == null)
+            throw new ArithmeticException("invalid inputs : eq cannot be null");
+        DifferentialEquation res = new DifferentialEquation(expression.totalDerivative(eq.expression).getSource());
+        res.setEvaluationMode(mode);
+        return res;
+    }
+
     /**
      * The Euler class provides a method for solving a differential equation using the Euler method.
      */
@@ -109,6 +180,31 @@ public class DifferentialEquation {
             return yi1;
         }
 
+        /**
+         * Solves the differential equation using the Taylor method of the given order,
+         * the higher derivatives of y being computed symbolically from y'.
+         *
+         * @param eq    The differential equation giving y'.
+         * @param order The order of the method, the number of derivatives used.
+         * @param x0    The initial value of x.
+         * @param y0    The initial value of y.
+         * @param h     The step size.
+         * @param x     The target value of x.
+         * @return The approximate value of y at x.
+         * @throws ArithmeticException if eq is null or order is smaller than 1
+         */
+        public static BigDecimal solve(DifferentialEquation eq, int order, BigDecimal x0, BigDecimal y0, BigDecimal h, BigDecimal x) {
+            if (eq == null)
+                throw new ArithmeticException("invalid inputs : eq cannot be null");
+            else if (order < 1)
+                throw new ArithmeticException("invalid inputs : order cannot be smaller than 1");
+            ArrayList<DifferentialEquation> eqs = new ArrayList<>();
+            eqs.add(eq);
+            for (int i = 1; i < order; i++)
+                eqs.add(eqs.get(i - 1).getTotalDerivative(eq));
+            return solve(eqs, x0, y0, h, x);
+        }
+
     }
 
     /**
@@ -405,30 +405,21 @@ public abstract class Differentiation {
             public static BigDecimal getValueAt(PointsFunction func, BigDecimal x) {
                 if (func == null)
                     throw new ArithmeticException("invalid inputs : Functions cannot be null");
-                //get x points
-                ArrayList<BigDecimal> xp = func.getXp();
-                // get y point
-                ArrayList<BigDecimal> yp = func.getYp();
                 // initialize and calculate h ; h = xi+1 - xi;
-                BigDecimal h = xp.get(1).subtract(xp.get(0));
-                for (int i = 1; i < xp.size() - 1; i++) {
-                    // get the temporary value of xi+1 - xi
-                    BigDecimal temp = (xp.get(i + 1).subtract(xp.get(i)));
-                    // if the temporary value do not equal h => the step is invalid
-                    if (temp.compareTo(h) != 0) {
-                        throw new ArithmeticException("step h is not static");
-                    }
-                }
-                //get index
-                int index = xp.indexOf(x);
-                if (index == (xp.size() - 1))
+                BigDecimal h = func.getStep();
+                // every xi+1 - xi must equal h, cached by an ArrayPointsFunction
+                if (!func.isUniform())
+                    throw new ArithmeticException("step h is not static");
+                //get index ; by binary search for an ArrayPointsFunction
+                int index = func.indexOf(x);
+                if (index == (func.size() - 1))
                     throw new ArithmeticException("invalid inputs : cannot apply to xn");
                 else if (index == 0)
                     throw new ArithmeticException("invalid inputs : cannot apply to x0");
                 else if (index == -1)
                     throw new ArithmeticException("invalid inputs : element do not exist");
                 // apply the law : (yi+1 - yi-1) / 2*h
-                BigDecimal res = (yp.get(index + 1).subtract(yp.get(index - 1))).divide(h.multiply(new BigDecimal(2)), Accuracy.getValue() + 3, RoundingMode.HALF_UP);
+                BigDecimal res = (func.getValueAt(index + 1).subtract(func.getValueAt(index - 1))).divide(h.multiply(new BigDecimal(2)), Accuracy.getValue() + 3, RoundingMode.HALF_UP);
                 return res;
             }
         }
@@ -452,28 +443,19 @@ public abstract class Differentiation {
             public static BigDecimal getValueAt(PointsFunction func, BigDecimal x) {
                 if (func == null)
                     throw new ArithmeticException("invalid inputs : Functions cannot be null");
-                //get x points
-                ArrayList<BigDecimal> xp = func.getXp();
-                // get y point
-                ArrayList<BigDecimal> yp = func.getYp();
                 // initialize and calculate h ; h = xi+1 - xi;
-                BigDecimal h = xp.get(1).subtract(xp.get(0));
-                for (int i = 1; i < xp.size() - 1; i++) {
-                    // get the temporary value of xi+1 - xi
-                    BigDecimal temp = (xp.get(i + 1).subtract(xp.get(i)));
-                    // if the temporary value do not equal h => the step is invalid
-                    if (temp.compareTo(h) != 0) {
-                        throw new ArithmeticException("step h is not static");
-                    }
-                }
-                //get index
-                int index = xp.indexOf(x);
-                if (index == (xp.size() - 1))
+                BigDecimal h = func.getStep();
+                // every xi+1 - xi must equal h, cached by an ArrayPointsFunction
+                if (!func.isUniform())
+                    throw new ArithmeticException("step h is not static");
+                //get index ; by binary search for an ArrayPointsFunction
+                int index = func.indexOf(x);
+                if (index == (func.size() - 1))
                     throw new ArithmeticException("invalid inputs : cannot apply to xn");
                 else if (index == -1)
                     throw new ArithmeticException("invalid inputs : element do not exist");
                 // apply the law : (yi+1 - yi) / h
-                BigDecimal res = (yp.get(index + 1).subtract(yp.get(index))).divide(h, Accuracy.getValue() + 3, RoundingMode.HALF_UP);
+                BigDecimal res = (func.getValueAt(index + 1).subtract(func.getValueAt(index))).divide(h, Accuracy.getValue() + 3, RoundingMode.HALF_UP);
                 return res;
             }
         }
@@ -497,28 +479,19 @@ public abstract class Differentiation {
             public static BigDecimal getValueAt(PointsFunction func, BigDecimal x) {
                 if (func == null)
                     throw new ArithmeticException("invalid inputs");
-                //get x points
-                ArrayList<BigDecimal> xp = func.getXp();
-                // get y point
-                ArrayList<BigDecimal> yp = func.getYp();
                 // initialize and calculate h ; h = xi+1 - xi;
-                BigDecimal h = xp.get(1).subtract(xp.get(0));
-                for (int i = 1; i < xp.size() - 1; i++) {
-                    // get the temporary value of xi+1 - xi
-                    BigDecimal temp = (xp.get(i + 1).subtract(xp.get(i)));
-                    // if the temporary value do not equal h => the step is invalid
-                    if (temp.compareTo(h) != 0) {
-                        throw new ArithmeticException("step h is not static");
-                    }
-                }
-                //get index
-                int index = xp.indexOf(x);
+                BigDecimal h = func.getStep();
+                // every xi+1 - xi must equal h, cached by an ArrayPointsFunction
+                if (!func.isUniform())
+                    throw new ArithmeticException("step h is not static");
+                //get index ; by binary search for an ArrayPointsFunction
+                int index = func.indexOf(x);
                 if (index == 0)
                     throw new ArithmeticException("invalid inputs : cannot apply to x0");
                 else if (index == -1)
                     throw new ArithmeticException("invalid inputs : element do not exist");
                 // apply the law : (yi - yi-1) / h
-                BigDecimal res = (yp.get(index).subtract(yp.get(index - 1))).divide(h, Accuracy.getValue() + 3, RoundingMode.HALF_UP);
+                BigDecimal res = (func.getValueAt(index).subtract(func.getValueAt(index - 1))).divide(h, Accuracy.getValue() + 3, RoundingMode.HALF_UP);
                 return res;
             }
         }
@@ -1,14 +1,24 @@
 package Numerics;
 
+import Functions.Function;
 import Functions.PointsFunction;
 import Util.Accuracy;
+import Util.BigDecimalUtil;
 
 import java.math.BigDecimal;
+import java.math.MathContext;
 import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
 /**
  * The Integral class provides methods for numerical integration using various methods.
- * It supports rectangular, trapezoidal, Simpson's 1/3, Simpson's 3/8, and Paul's method.
+ * It supports rectangular, trapezoidal, Simpson's 1/3, Simpson's 3/8, and Paul's method, the Gauss-Legendre rules,
+ * and the adaptive Simpson, Gauss-Kronrod, Romberg and tanh-sinh methods, which evaluate a {@link Function}
+ * where it needs it, on their own or on chunks of [a, b] in parallel.
  */
 @SuppressWarnings("all")
 public abstract class Integral {
@@ -189,7 +199,817 @@ public abstract class Integral {
     }
 
     /**
-     * Returns the estimated error of the last performed integration.
+     * The number of digits kept beyond the accuracy by the adaptive methods
+     */
+    private static final int GUARD_DIGITS = 6;
+
+    /**
+     * The deepest bisection of the adaptive Simpson method
+     */
+    private static final int MAX_DEPTH = 50;
+
+    /**
+     * The greatest number of intervals of the adaptive Gauss-Kronrod method
+     */
+    private static final int MAX_INTERVALS = 1000;
+
+    /**
+     * The greatest number of times the step of the Romberg method is halved
+     */
+    private static final int MAX_LEVELS = 16;
+
+    /**
+     * The nodes and weights {x, w} of the Gauss-Legendre rules already computed, by number of points and precision
+     */
+    private static final ConcurrentHashMap<Long, BigDecimal[][]> GAUSS_LEGENDRE = new ConcurrentHashMap<>();
+
+    /**
+     * The greatest level of the tanh-sinh method, whose step is 2^-level
+     */
+    private static final int MAX_TANH_SINH_LEVEL = 12;
+
+    /**
+     * The tanh-sinh tables already computed, by precision
+     */
+    private static final ConcurrentHashMap<Integer, TanhSinhTable> TANH_SINH = new ConcurrentHashMap<>();
+
+    /**
+     * The pool running the parallel integrations, created on first use
+     */
+    private static ForkJoinPool pool;
+
+    /**
+     * The number of threads of the pool
+     */
+    private static int parallelism = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * The Gauss-Kronrod 7-15 rules already computed, by precision
+     */
+    private static final ConcurrentHashMap<Integer, BigDecimal[][]> GAUSS_KRONROD = new ConcurrentHashMap<>();
+
+    /**
+     * The coefficients of x, x^3, x^5 and x^7 in 16 P7(x)
+     */
+    private static final int[] LEGENDRE_7 = {-35, 315, -693, 429};
+
+    /**
+     * The abscissae of the 15-point Kronrod rule that are not abscissae of the 7-point Gauss rule, to double precision,
+     * from which Newton's method starts
+     */
+    private static final double[] KRONROD_GUESSES = {0.9914553711208126, 0.8648644233597691, 0.5860872354676911, 0.2077849550078985};
+
+    /**
+     * The Result class holds the value of an adaptive integration, its estimated error and the number of
+     * evaluations of the function it took.
+     */
+    public static class Result {
+        private final BigDecimal value;
+        private final BigDecimal error;
+        private final int evaluations;
+
+        private Result(BigDecimal value, BigDecimal error, int evaluations) {
+            this.value = value;
+            this.error = error;
+            this.evaluations = evaluations;
+        }
+
+        /**
+         * Returns the calculated integral value.
+         *
+         * @return the integral value
+         */
+        public BigDecimal getValue() {
+            return value;
+        }
+
+        /**
+         * Returns the estimated absolute error of the value.
+         *
+         * @return the estimated error
+         */
+        public BigDecimal getError() {
+            return error;
+        }
+
+        /**
+         * Returns the number of evaluations of the function.
+         *
+         * @return the number of evaluations
+         */
+        public int getEvaluations() {
+            return evaluations;
+        }
+
+        /**
+         * Returns the string representation of the result.
+         *
+         * @return the string representation of the result
+         */
+        @Override
+        public String toString() {
+            return value + " (error : " + error.round(new MathContext(3)) + " , evaluations : " + evaluations + ")";
+        }
+    }
+
+    private static void checkAdaptiveInputs(Function func, BigDecimal a, BigDecimal b, BigDecimal tolerance) {
+        if (func == null)
+            throw new ArithmeticException("invalid inputs : Function cannot be null");
+        else if (a == null || b == null || tolerance == null)
+            throw new ArithmeticException("invalid inputs : bounds and tolerance cannot be null");
+        else if (a.compareTo(b) >= 0)
+            throw new ArithmeticException("invalid inputs : a cannot be greater or equal to b");
+        else if (tolerance.signum() <= 0)
+            throw new ArithmeticException("invalid inputs : tolerance must be positive");
+    }
+
+    /**
+     * Calculates the integral using the adaptive Simpson method.
+     * <p>
+     * Simpson's rule on [a, b] is compared with its value on both halves : where they differ by more than 15 times
+     * the tolerance, each half is integrated again with half the tolerance, so the function is only sampled densely
+     * where it needs it. The difference divided by 15 is both added to the value (Richardson extrapolation) and
+     * taken as the error of the interval ; intervals whose halves agree to the rounding error are not bisected further.
+     * The function is evaluated directly at the points it needs, with no {@link PointsFunction} sampled beforehand.
+     * </p>
+     *
+     * @param func      the function to integrate
+     * @param a         the lower limit of integration
+     * @param b         the upper limit of integration
+     * @param tolerance the requested absolute error
+     * @return the {@link Result} holding the integral value, its estimated error and the number of evaluations
+     * @throws ArithmeticException if an input is null, a is greater than or equal to b, or the tolerance is not positive
+     */
+    public static Result getAdaptiveSimpson(Function func, BigDecimal a, BigDecimal b, BigDecimal tolerance) {
+        checkAdaptiveInputs(func, a, b, tolerance);
+        MathContext mc = new MathContext(Accuracy.getValue() + GUARD_DIGITS, RoundingMode.HALF_UP);
+        BigDecimal m = a.add(b).divide(new BigDecimal(2), mc);
+        BigDecimal fa = func.getValueAt(a), fm = func.getValueAt(m), fb = func.getValueAt(b);
+        BigDecimal whole = getSimpson(a, b, fa, fm, fb, mc);
+        // error[0] accumulates the error , evaluations[0] counts the evaluations
+        BigDecimal[] error = {new BigDecimal(0)};
+        int[] evaluations = {3};
+        BigDecimal value = getAdaptiveSimpson(func, a, b, fa, fm, fb, whole, tolerance, MAX_DEPTH, error, evaluations, mc);
+        e = error[0];
+        return new Result(value, error[0], evaluations[0]);
+    }
+
+    /**
+     * Calculates the integral using the adaptive Simpson method, to the accuracy.
+     *
+     * @param func the function to integrate
+     * @param a    the lower limit of integration
+     * @param b    the upper limit of integration
+     * @return the {@link Result} holding the integral value, its estimated error and the number of evaluations
+     * @throws ArithmeticException if an input is null, or a is greater than or equal to b
+     */
+    public static Result getAdaptiveSimpson(Function func, BigDecimal a, BigDecimal b) {
+        return getAdaptiveSimpson(func, a, b, BigDecimal.ONE.scaleByPowerOfTen(-Accuracy.getValue()));
+    }
+
+    private static BigDecimal getSimpson(BigDecimal a, BigDecimal b, BigDecimal fa, BigDecimal fm, BigDecimal fb, MathContext mc) {
+        // (b - a) / 6 * (fa + 4 fm + fb)
+        return b.subtract(a).multiply(fa.add(fm.multiply(new BigDecimal(4))).add(fb)).divide(new BigDecimal(6), mc);
+    }
+
+    private static BigDecimal getAdaptiveSimpson(Function func, BigDecimal a, BigDecimal b, BigDecimal fa, BigDecimal fm, BigDecimal fb,
+                                                 BigDecimal whole, BigDecimal tolerance, int depth, BigDecimal[] error, int[] evaluations, MathContext mc) {
+        BigDecimal two = new BigDecimal(2);
+        BigDecimal m = a.add(b).divide(two, mc);
+        BigDecimal lm = a.add(m).divide(two, mc), rm = m.add(b).divide(two, mc);
+        BigDecimal flm = func.getValueAt(lm), frm = func.getValueAt(rm);
+        evaluations[0] += 2;
+        BigDecimal left = getSimpson(a, m, fa, flm, fm, mc), right = getSimpson(m, b, fm, frm, fb, mc);
+        BigDecimal delta = left.add(right).subtract(whole, mc);
+        BigDecimal fifteen = new BigDecimal(15);
+        // stop at the tolerance , or where the halves agree to the rounding error
+        BigDecimal floor = whole.abs().scaleByPowerOfTen(2 - Accuracy.getValue() - GUARD_DIGITS);
+        if (depth <= 0 || delta.abs().compareTo(tolerance.max(floor).multiply(fifteen)) <= 0) {
+            BigDecimal correction = delta.divide(fifteen, mc);
+            error[0] = error[0].add(correction.abs(), mc);
+            return left.add(right).add(correction, mc);
+        }
+        BigDecimal half = tolerance.divide(two, mc);
+        return getAdaptiveSimpson(func, a, m, fa, flm, fm, left, half, depth - 1, error, evaluations, mc)
+                .add(getAdaptiveSimpson(func, m, b, fm, frm, fb, right, half, depth - 1, error, evaluations, mc), mc);
+    }
+
+    /**
+     * Calculates the integral using the adaptive Gauss-Kronrod 7-15 method.
+     * <p>
+     * On every interval the 15-point Kronrod rule gives the value and its difference with the 7-point Gauss rule,
+     * which uses 7 of the same points, gives the error. The interval with the largest error is bisected until the
+     * errors sum below the tolerance or the rounding error of the value, or {@link #MAX_INTERVALS} intervals are
+     * reached ; the reached error is then returned in the {@link Result}. As Kronrod's rule is exact for polynomials
+     * of degree 22, smooth functions need very few intervals. The abscissae and weights are computed at the working
+     * precision, so that any accuracy can be reached.
+     * </p>
+     *
+     * @param func      the function to integrate
+     * @param a         the lower limit of integration
+     * @param b         the upper limit of integration
+     * @param tolerance the requested absolute error
+     * @return the {@link Result} holding the integral value, its estimated error and the number of evaluations
+     * @throws ArithmeticException if an input is null, a is greater than or equal to b, or the tolerance is not positive
+     */
+    public static Result getGaussKronrod(Function func, BigDecimal a, BigDecimal b, BigDecimal tolerance) {
+        checkAdaptiveInputs(func, a, b, tolerance);
+        MathContext mc = new MathContext(Accuracy.getValue() + GUARD_DIGITS, RoundingMode.HALF_UP);
+        BigDecimal[][] rule = getGaussKronrodRule(mc.getPrecision());
+        // the intervals by decreasing error , each one being {a, b, value, error}
+        PriorityQueue<BigDecimal[]> intervals = new PriorityQueue<>((i, j) -> j[3].compareTo(i[3]));
+        intervals.add(getKronrod(func, a, b, rule, mc));
+        int evaluations = 15;
+        BigDecimal value = intervals.peek()[2], error = intervals.peek()[3];
+        // errors below the rounding error of the value cannot be reduced
+        BigDecimal floor = BigDecimal.ONE.scaleByPowerOfTen(2 - Accuracy.getValue() - GUARD_DIGITS);
+        while (error.compareTo(tolerance.max(value.abs().multiply(floor))) > 0 && intervals.size() < MAX_INTERVALS) {
+            BigDecimal[] worst = intervals.poll();
+            BigDecimal m = worst[0].add(worst[1]).divide(new BigDecimal(2), mc);
+            BigDecimal[] left = getKronrod(func, worst[0], m, rule, mc), right = getKronrod(func, m, worst[1], rule, mc);
+            evaluations += 30;
+            intervals.add(left);
+            intervals.add(right);
+            value = value.subtract(worst[2]).add(left[2]).add(right[2], mc);
+            error = error.subtract(worst[3]).add(left[3]).add(right[3], mc);
+        }
+        // sum again from the intervals , free of the cancellations of the updates
+        value = new BigDecimal(0);
+        error = new BigDecimal(0);
+        for (BigDecimal[] interval : intervals) {
+            value = value.add(interval[2], mc);
+            error = error.add(interval[3], mc);
+        }
+        e = error;
+        return new Result(value, error, evaluations);
+    }
+
+    /**
+     * Calculates the integral using the adaptive Gauss-Kronrod 7-15 method, to the accuracy.
+     *
+     * @param func the function to integrate
+     * @param a    the lower limit of integration
+     * @param b    the upper limit of integration
+     * @return the {@link Result} holding the integral value, its estimated error and the number of evaluations
+     * @throws ArithmeticException if an input is null, or a is greater than or equal to b
+     */
+    public static Result getGaussKronrod(Function func, BigDecimal a, BigDecimal b) {
+        return getGaussKronrod(func, a, b, BigDecimal.ONE.scaleByPowerOfTen(-Accuracy.getValue()));
+    }
+
+    /**
+     * Returns {a, b, K15, |K15 - G7|} for the interval [a, b], using the rule {nodes, Kronrod weights, Gauss weights}.
+     */
+    private static BigDecimal[] getKronrod(Function func, BigDecimal a, BigDecimal b, BigDecimal[][] rule, MathContext mc) {
+        BigDecimal[] nodes = rule[0], kronrodWeights = rule[1], gaussWeights = rule[2];
+        BigDecimal center = a.add(b).divide(new BigDecimal(2), mc);
+        BigDecimal half = b.subtract(a).divide(new BigDecimal(2), mc);
+        BigDecimal fc = func.getValueAt(center);
+        BigDecimal kronrod = fc.multiply(kronrodWeights[7]);
+        BigDecimal gauss = fc.multiply(gaussWeights[3]);
+        for (int i = 0; i < 7; i++) {
+            BigDecimal dx = half.multiply(nodes[i], mc);
+            // the symmetric points center - dx and center + dx share the weight
+            BigDecimal sum = func.getValueAt(center.subtract(dx)).add(func.getValueAt(center.add(dx)));
+            kronrod = kronrod.add(sum.multiply(kronrodWeights[i]), mc);
+            if (i % 2 == 1)
+                gauss = gauss.add(sum.multiply(gaussWeights[i / 2]), mc);
+        }
+        kronrod = kronrod.multiply(half, mc);
+        gauss = gauss.multiply(half, mc);
+        return new BigDecimal[]{a, b, kronrod, kronrod.subtract(gauss).abs()};
+    }
+
+    /**
+     * Returns the Gauss-Kronrod 7-15 rule on [-1, 1] at the given precision, computing it on the first call, as
+     * {nodes, Kronrod weights, Gauss weights} : the 8 abscissae are in decreasing order down to 0, the odd ones being
+     * the abscissae of the 7-point Gauss rule, whose 4 weights are for the abscissae 1, 3, 5 and 7.
+     * <p>
+     * The other abscissae are the roots of the Stieltjes polynomial E8, the monic polynomial of degree 8 orthogonal to
+     * every polynomial of degree 7 or less for the weight P7 ; being even, E8(x) = x^8 + c6 x^6 + c4 x^4 + c2 x^2 + c0,
+     * and its orthogonality to P7 x, P7 x^3, P7 x^5 and P7 x^7 gives a triangular system in the moments
+     * Mk = ∫P7(x) x^k dx, which vanish for k < 7. With M = M7, the weights are M / (P7(y) E8'(y)) at the roots y of E8
+     * and w + M / (P7'(x) E8(x)) at the Gauss abscissae x of weight w.
+     * </p>
+     */
+    private static BigDecimal[][] getGaussKronrodRule(int precision) {
+        return GAUSS_KRONROD.computeIfAbsent(precision, key -> {
+            MathContext mc = new MathContext(precision + GUARD_DIGITS, RoundingMode.HALF_UP);
+            MathContext result = new MathContext(precision, RoundingMode.HALF_UP);
+            BigDecimal eps = BigDecimal.ONE.scaleByPowerOfTen(2 - precision - GUARD_DIGITS);
+            BigDecimal[] moments = new BigDecimal[16];
+            for (int k = 7; k < 16; k += 2) {
+                // Mk = ∑ qj 2 / (j + k + 1) / 16 over the terms qj x^j of 16 P7
+                BigDecimal m = new BigDecimal(0);
+                for (int j = 0; j < LEGENDRE_7.length; j++)
+                    m = m.add(new BigDecimal(2 * LEGENDRE_7[j]).divide(new BigDecimal(2 * j + k + 2), mc), mc);
+                moments[k] = m.divide(new BigDecimal(16), mc);
+            }
+            // c[j] is the coefficient of x^2j in E8 , solved from ∑j c[j] M(2j + 2i + 1) = 0 for i = 0 .. 3
+            BigDecimal[] c = new BigDecimal[5];
+            c[4] = new BigDecimal(1);
+            for (int i = 0; i < 4; i++) {
+                BigDecimal sum = new BigDecimal(0);
+                for (int j = 4; j > 3 - i; j--)
+                    sum = sum.add(c[j].multiply(moments[2 * j + 2 * i + 1]), mc);
+                c[3 - i] = sum.negate().divide(moments[7], mc);
+            }
+            BigDecimal[] gauss = getGaussLegendreRule(7, precision + GUARD_DIGITS)[0];
+            BigDecimal[] gaussWeights = getGaussLegendreRule(7, precision + GUARD_DIGITS)[1];
+            BigDecimal[] nodes = new BigDecimal[8], kronrodWeights = new BigDecimal[8], weights = new BigDecimal[4];
+            for (int i = 0; i < 4; i++) {
+                // Newton's method on E8 from the double approximation of its i-th greatest root
+                BigDecimal y = new BigDecimal(KRONROD_GUESSES[i]);
+                BigDecimal[] e8 = getStieltjes(c, y, mc);
+                for (int k = 0; k < 100; k++) {
+                    BigDecimal dy = e8[0].divide(e8[1], mc);
+                    y = y.subtract(dy, mc);
+                    e8 = getStieltjes(c, y, mc);
+                    if (dy.abs().compareTo(eps) <= 0)
+                        break;
+                }
+                nodes[2 * i] = y.round(result);
+                kronrodWeights[2 * i] = moments[7].divide(getLegendre(7, y, mc)[0].multiply(e8[1], mc), result);
+                BigDecimal x = gauss[i];
+                nodes[2 * i + 1] = x.round(result);
+                kronrodWeights[2 * i + 1] = gaussWeights[i].add(moments[7].divide(getLegendre(7, x, mc)[1].multiply(getStieltjes(c, x, mc)[0], mc), mc), result);
+                weights[i] = gaussWeights[i].round(result);
+            }
+            return new BigDecimal[][]{nodes, kronrodWeights, weights};
+        });
+    }
+
+    /**
+     * Returns {E8(x), E8'(x)} where c[j] is the coefficient of x^2j in E8.
+     */
+    private static BigDecimal[] getStieltjes(BigDecimal[] c, BigDecimal x, MathContext mc) {
+        BigDecimal x2 = x.multiply(x, mc);
+        BigDecimal value = c[4], diff = c[4].multiply(new BigDecimal(8));
+        for (int j = 3; j >= 0; j--) {
+            value = value.multiply(x2, mc).add(c[j], mc);
+            if (j > 0)
+                diff = diff.multiply(x2, mc).add(c[j].multiply(new BigDecimal(2 * j)), mc);
+        }
+        return new BigDecimal[]{value, diff.multiply(x, mc)};
+    }
+
+    /**
+     * Calculates the integral using the Romberg method.
+     * <p>
+     * The trapezoidal rule is applied with the steps h = b - a, h / 2, h / 4 ... where every halving only evaluates the
+     * function at the new midpoints, the previous sum being reused. Each row of the table is extrapolated by
+     * Richardson's formula Rk,j = Rk,j-1 + (Rk,j-1 - Rk-1,j-1) / (4^j - 1), and the method stops when two successive
+     * diagonal entries agree to the tolerance ; their difference is returned as the error. Only the last two rows
+     * of the table are kept.
+     * </p>
+     *
+     * @param func      the function to integrate
+     * @param a         the lower limit of integration
+     * @param b         the upper limit of integration
+     * @param tolerance the requested absolute error
+     * @return the {@link Result} holding the integral value, its estimated error and the number of evaluations
+     * @throws ArithmeticException if an input is null, a is greater than or equal to b, or the tolerance is not positive
+     */
+    public static Result getRomberg(Function func, BigDecimal a, BigDecimal b, BigDecimal tolerance) {
+        checkAdaptiveInputs(func, a, b, tolerance);
+        MathContext mc = new MathContext(Accuracy.getValue() + GUARD_DIGITS, RoundingMode.HALF_UP);
+        BigDecimal two = new BigDecimal(2);
+        BigDecimal h = b.subtract(a);
+        // R0,0 = h / 2 (f(a) + f(b))
+        BigDecimal[] previous = {h.multiply(func.getValueAt(a).add(func.getValueAt(b))).divide(two, mc)};
+        int evaluations = 2;
+        BigDecimal error = null;
+        BigDecimal floor = BigDecimal.ONE.scaleByPowerOfTen(2 - Accuracy.getValue() - GUARD_DIGITS);
+        for (int k = 1; k <= MAX_LEVELS; k++) {
+            // h / 2 is exact , so the points a + (2i - 1) h are not rounded
+            h = h.divide(two);
+            BigDecimal sum = new BigDecimal(0);
+            for (long i = 1; i <= 1L << (k - 1); i++)
+                sum = sum.add(func.getValueAt(a.add(h.multiply(new BigDecimal(2 * i - 1)))), mc);
+            evaluations += 1 << (k - 1);
+            BigDecimal[] row = new BigDecimal[k + 1];
+            // Rk,0 = Rk-1,0 / 2 + h * (sum of the new points)
+            row[0] = previous[0].divide(two, mc).add(h.multiply(sum), mc);
+            BigDecimal power = new BigDecimal(1);
+            for (int j = 1; j <= k; j++) {
+                power = power.multiply(new BigDecimal(4));
+                row[j] = row[j - 1].add(row[j - 1].subtract(previous[j - 1]).divide(power.subtract(BigDecimal.ONE), mc), mc);
+            }
+            error = row[k].subtract(previous[k - 1]).abs();
+            previous = row;
+            // two levels at least , as the first trapezoids may agree by chance
+            if (k >= 2 && error.compareTo(tolerance.max(row[k].abs().multiply(floor))) <= 0)
+                break;
+        }
+        e = error;
+        return new Result(previous[previous.length - 1], error, evaluations);
+    }
+
+    /**
+     * Calculates the integral using the Romberg method, until two diagonal entries agree to the accuracy.
+     *
+     * @param func the function to integrate
+     * @param a    the lower limit of integration
+     * @param b    the upper limit of integration
+     * @return the {@link Result} holding the integral value, its estimated error and the number of evaluations
+     * @throws ArithmeticException if an input is null, or a is greater than or equal to b
+     */
+    public static Result getRomberg(Function func, BigDecimal a, BigDecimal b) {
+        return getRomberg(func, a, b, BigDecimal.ONE.scaleByPowerOfTen(-Accuracy.getValue()));
+    }
+
+    /**
+     * Calculates the integral using the n-point Gauss-Legendre rule.
+     * <p>
+     * The rule integrates exactly the polynomials of degree 2n - 1 with only n evaluations, at the roots of the Legendre
+     * polynomial Pn. The roots and weights are found once for every n and accuracy by Newton's method on Pn,
+     * with {@link #GUARD_DIGITS} digits more than the accuracy, then kept for the next calls.
+     * </p>
+     *
+     * @param func the function to integrate
+     * @param a    the lower limit of integration
+     * @param b    the upper limit of integration
+     * @param n    the number of points of the rule
+     * @return the calculated integral value
+     * @throws ArithmeticException if an input is null, a is greater than or equal to b, or n is less than or equal to 0
+     */
+    public static BigDecimal getGaussLegendre(Function func, BigDecimal a, BigDecimal b, int n) {
+        return getGaussLegendre(func, a, b, n, 1);
+    }
+
+    /**
+     * Calculates the integral using the composite n-point Gauss-Legendre rule, applying the rule on each of the
+     * panels of equal width splitting [a, b].
+     *
+     * @param func   the function to integrate
+     * @param a      the lower limit of integration
+     * @param b      the upper limit of integration
+     * @param n      the number of points of the rule
+     * @param panels the number of panels
+     * @return the calculated integral value
+     * @throws ArithmeticException if an input is null, a is greater than or equal to b, or n or panels is less than or equal to 0
+     */
+    public static BigDecimal getGaussLegendre(Function func, BigDecimal a, BigDecimal b, int n, int panels) {
+        if (func == null)
+            throw new ArithmeticException("invalid inputs : Function cannot be null");
+        else if (a == null || b == null)
+            throw new ArithmeticException("invalid inputs : bounds cannot be null");
+        else if (a.compareTo(b) >= 0)
+            throw new ArithmeticException("invalid inputs : a cannot be greater or equal to b");
+        else if (n <= 0)
+            throw new ArithmeticException("invalid inputs : n cannot be smaller or equal to 0");
+        else if (panels <= 0)
+            throw new ArithmeticException("invalid inputs : panels cannot be smaller or equal to 0");
+        MathContext mc = new MathContext(Accuracy.getValue() + GUARD_DIGITS, RoundingMode.HALF_UP);
+        BigDecimal[][] rule = getGaussLegendreRule(n, mc.getPrecision());
+        BigDecimal width = b.subtract(a).divide(new BigDecimal(panels), mc);
+        BigDecimal half = width.divide(new BigDecimal(2), mc);
+        BigDecimal sum = new BigDecimal(0);
+        for (int p = 0; p < panels; p++) {
+            // the panel [a + p H, a + (p + 1) H] is mapped onto [-1, 1] around its center
+            BigDecimal center = a.add(width.multiply(new BigDecimal(p))).add(half, mc);
+            for (int i = 0; i < n; i++)
+                sum = sum.add(rule[1][i].multiply(func.getValueAt(center.add(half.multiply(rule[0][i]), mc))), mc);
+        }
+        return sum.multiply(half, mc);
+    }
+
+    /**
+     * Returns the nodes and weights {x, w} of the n-point Gauss-Legendre rule on [-1, 1] at the given precision,
+     * computing them on the first call.
+     */
+    private static BigDecimal[][] getGaussLegendreRule(int n, int precision) {
+        return GAUSS_LEGENDRE.computeIfAbsent(((long) n << 32) | precision, key -> {
+            MathContext mc = new MathContext(precision, RoundingMode.HALF_UP);
+            BigDecimal eps = BigDecimal.ONE.scaleByPowerOfTen(2 - precision);
+            BigDecimal[] x = new BigDecimal[n], w = new BigDecimal[n];
+            for (int i = 0; i < (n + 1) / 2; i++) {
+                // Newton's method from the approximation cos(pi (i + 3/4) / (n + 1/2)) of the i-th greatest root
+                BigDecimal xi = new BigDecimal(Math.cos(Math.PI * (i + 0.75) / (n + 0.5)));
+                BigDecimal[] p = getLegendre(n, xi, mc);
+                for (int k = 0; k < 100; k++) {
+                    BigDecimal dx = p[0].divide(p[1], mc);
+                    xi = xi.subtract(dx, mc);
+                    p = getLegendre(n, xi, mc);
+                    if (dx.abs().compareTo(eps) <= 0)
+                        break;
+                }
+                // wi = 2 / ((1 - xi^2) Pn'(xi)^2)
+                BigDecimal wi = new BigDecimal(2).divide(BigDecimal.ONE.subtract(xi.multiply(xi)).multiply(p[1].multiply(p[1])), mc);
+                x[i] = xi;
+                w[i] = wi;
+                x[n - 1 - i] = xi.negate();
+                w[n - 1 - i] = wi;
+            }
+            if (n % 2 == 1)
+                x[n / 2] = new BigDecimal(0);
+            return new BigDecimal[][]{x, w};
+        });
+    }
+
+    /**
+     * Returns {Pn(x), Pn'(x)} using the recurrence (k + 1) Pk+1 = (2k + 1) x Pk - k Pk-1
+     * and Pn' = n (x Pn - Pn-1) / (x^2 - 1).
+     */
+    private static BigDecimal[] getLegendre(int n, BigDecimal x, MathContext mc) {
+        BigDecimal previous = new BigDecimal(1), p = x;
+        if (n == 0)
+            return new BigDecimal[]{previous, new BigDecimal(0)};
+        for (int k = 1; k < n; k++) {
+            BigDecimal next = new BigDecimal(2 * k + 1).multiply(x).multiply(p).subtract(new BigDecimal(k).multiply(previous))
+                    .divide(new BigDecimal(k + 1), mc);
+            previous = p;
+            p = next;
+        }
+        BigDecimal diff = new BigDecimal(n).multiply(x.multiply(p).subtract(previous)).divide(x.multiply(x).subtract(BigDecimal.ONE), mc);
+        return new BigDecimal[]{p, diff};
+    }
+
+    /**
+     * The TanhSinhTable class holds the abscissae and weights of the tanh-sinh method at one precision, level by level.
+     * <p>
+     * The abscissa of t is x = tanh(pi / 2 sinh t) and its weight w = pi / 2 cosh t / cosh^2(pi / 2 sinh t). The level 0
+     * holds t = 1, 2, 3 ... and the level k the new points t = j / 2^k, j odd, of the step 2^-k. Instead of x, its
+     * distance to the end 1 - x = 2 / (e^(2u) + 1) is kept, which holds all its digits even when x rounds to 1 ;
+     * the points stop where this distance is below 10^-2p, the weights having vanished.
+     * </p>
+     */
+    private static class TanhSinhTable {
+        private final int precision;
+
+        /**
+         * levels[k] = {1 - x, w} of the points of level k
+         */
+        private final ArrayList<BigDecimal[][]> levels = new ArrayList<>();
+
+        private TanhSinhTable(int precision) {
+            this.precision = precision;
+        }
+
+        /**
+         * Returns the points of the given level, computing the levels up to it on the first call.
+         */
+        private synchronized BigDecimal[][] getLevel(int level) {
+            while (levels.size() <= level)
+                levels.add(build(levels.size()));
+            return levels.get(level);
+        }
+
+        private BigDecimal[][] build(int level) {
+            MathContext mc = new MathContext(precision, RoundingMode.HALF_UP);
+            BigDecimal halfPi = BigDecimalUtil.PI.divide(new BigDecimal(2), mc);
+            BigDecimal h = BigDecimal.ONE.divide(new BigDecimal(2).pow(level));
+            BigDecimal cutoff = BigDecimal.ONE.scaleByPowerOfTen(-2 * precision);
+            ArrayList<BigDecimal> ys = new ArrayList<>(), ws = new ArrayList<>();
+            for (int j = 1; ; j += level == 0 ? 1 : 2) {
+                BigDecimal t = h.multiply(new BigDecimal(j));
+                BigDecimal et = BigDecimalUtil.exp(t, precision + 5);
+                BigDecimal inverse = BigDecimal.ONE.divide(et, mc);
+                // u = pi / 2 sinh t
+                BigDecimal u = halfPi.multiply(et.subtract(inverse), mc).divide(new BigDecimal(2), mc);
+                BigDecimal eu = BigDecimalUtil.exp(u, precision + 5);
+                // 1 - tanh u = 2 / (e^2u + 1)
+                BigDecimal y = new BigDecimal(2).divide(eu.multiply(eu).add(BigDecimal.ONE), mc);
+                if (y.compareTo(cutoff) < 0)
+                    break;
+                // w = pi / 2 cosh t / cosh^2 u
+                BigDecimal cosh = et.add(inverse).divide(new BigDecimal(2), mc);
+                BigDecimal coshU = eu.add(BigDecimal.ONE.divide(eu, mc)).divide(new BigDecimal(2), mc);
+                ys.add(y);
+                ws.add(halfPi.multiply(cosh).divide(coshU.multiply(coshU), mc));
+            }
+            return new BigDecimal[][]{ys.toArray(new BigDecimal[0]), ws.toArray(new BigDecimal[0])};
+        }
+    }
+
+    /**
+     * Calculates the integral using the tanh-sinh (double exponential) method.
+     * <p>
+     * The substitution x = tanh(pi / 2 sinh t) maps [-1, 1] onto the whole real line and makes the integrand decay
+     * double exponentially, so the trapezoidal rule in t converges very fast : every level halves the step,
+     * reusing the sum of the previous levels, and about doubles the number of correct digits. As the points crowd
+     * towards the ends without reaching them, integrable singularities at a or b are handled as well ; the points
+     * stop at the distance 10^-accuracy max(|a|, |b|) of the ends, the resolution of the function values. The integral
+     * left out within this distance is estimated from the values there and added to the error : for a singularity
+     * like 1 / sqrt(x) it is of the order of 10^-accuracy/2, so only about half the digits are reached.
+     * The abscissae and weights are computed once for every precision and kept for the next calls ;
+     * the method stops when two successive levels agree to the tolerance, their difference being returned as the error.
+     * The precision is at most the 100 digits of {@link BigDecimalUtil#PI}.
+     * </p>
+     *
+     * @param func      the function to integrate
+     * @param a         the lower limit of integration
+     * @param b         the upper limit of integration
+     * @param tolerance the requested absolute error
+     * @return the {@link Result} holding the integral value, its estimated error and the number of evaluations
+     * @throws ArithmeticException if an input is null, a is greater than or equal to b, or the tolerance is not positive
+     */
+    public static Result getTanhSinh(Function func, BigDecimal a, BigDecimal b, BigDecimal tolerance) {
+        checkAdaptiveInputs(func, a, b, tolerance);
+        int precision = Math.min(Accuracy.getValue() + GUARD_DIGITS, BigDecimalUtil.PI.precision() - 1);
+        MathContext mc = new MathContext(precision, RoundingMode.HALF_UP);
+        TanhSinhTable table = TANH_SINH.computeIfAbsent(precision, TanhSinhTable::new);
+        BigDecimal half = b.subtract(a).divide(new BigDecimal(2), mc);
+        // the point t = 0 is the center , with the weight pi / 2
+        BigDecimal sum = BigDecimalUtil.PI.divide(new BigDecimal(2), mc).multiply(func.getValueAt(a.add(half, mc)), mc);
+        int evaluations = 1;
+        BigDecimal value = null, error = null;
+        BigDecimal floor = BigDecimal.ONE.scaleByPowerOfTen(2 - precision);
+        // the function cannot tell apart points closer to the ends than its resolution
+        BigDecimal resolution = a.abs().max(b.abs()).scaleByPowerOfTen(-Accuracy.getValue());
+        // the integral left out within the resolution of the ends , estimated by resolution (|f(a + r)| + |f(b - r)|)
+        BigDecimal tail = new BigDecimal(0);
+        if (half.compareTo(resolution) > 0) {
+            tail = resolution.multiply(func.getValueAt(a.add(resolution)).abs().add(func.getValueAt(b.subtract(resolution)).abs()), mc);
+            evaluations += 2;
+        }
+        for (int level = 0; level <= MAX_TANH_SINH_LEVEL; level++) {
+            BigDecimal[][] points = table.getLevel(level);
+            for (int j = 0; j < points[0].length; j++) {
+                // the points b - half (1 - x) and a + half (1 - x) are not rounded , to stay apart from the ends
+                BigDecimal offset = half.multiply(points[0][j], mc);
+                if (offset.compareTo(resolution) < 0)
+                    break;
+                sum = sum.add(points[1][j].multiply(func.getValueAt(b.subtract(offset)).add(func.getValueAt(a.add(offset)))), mc);
+                evaluations += 2;
+            }
+            BigDecimal previous = value;
+            // I = (b - a) / 2 * h * sum , with h = 2^-level
+            value = half.multiply(sum, mc).divide(new BigDecimal(2).pow(level), mc);
+            if (previous != null) {
+                error = value.subtract(previous).abs();
+                // the levels cannot get closer than the part left out at the ends
+                if (level >= 2 && error.compareTo(tolerance.max(value.abs().multiply(floor)).max(tail)) <= 0)
+                    break;
+            }
+        }
+        error = error.add(tail, mc);
+        e = error;
+        return new Result(value, error, evaluations);
+    }
+
+    /**
+     * Calculates the integral using the tanh-sinh (double exponential) method, to the accuracy.
+     *
+     * @param func the function to integrate
+     * @param a    the lower limit of integration
+     * @param b    the upper limit of integration
+     * @return the {@link Result} holding the integral value, its estimated error and the number of evaluations
+     * @throws ArithmeticException if an input is null, or a is greater than or equal to b
+     */
+    public static Result getTanhSinh(Function func, BigDecimal a, BigDecimal b) {
+        return getTanhSinh(func, a, b, BigDecimal.ONE.scaleByPowerOfTen(-Accuracy.getValue()));
+    }
+
+    /**
+     * The Rule interface represents an integration method applied to every chunk by
+     * {@link #getParallel(Function, BigDecimal, BigDecimal, int, BigDecimal, Rule)},
+     * such as {@code Integral::getGaussKronrod} or {@code Integral::getTanhSinh}.
+     */
+    public interface Rule {
+        /**
+         * Integrates the function on [a, b].
+         *
+         * @param func      the function to integrate
+         * @param a         the lower limit of integration
+         * @param b         the upper limit of integration
+         * @param tolerance the requested absolute error
+         * @return the {@link Result} of the integration
+         */
+        Result integrate(Function func, BigDecimal a, BigDecimal b, BigDecimal tolerance);
+    }
+
+    /**
+     * The ChunkTask class integrates the chunks from lo to hi, splitting its range in two until it holds one chunk.
+     */
+    private static class ChunkTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final Function func;
+        private final BigDecimal[] bounds;
+        private final BigDecimal tolerance;
+        private final Rule rule;
+        private final Result[] results;
+        private final int lo;
+        private final int hi;
+
+        private ChunkTask(Function func, BigDecimal[] bounds, BigDecimal tolerance, Rule rule, Result[] results, int lo, int hi) {
+            this.func = func;
+            this.bounds = bounds;
+            this.tolerance = tolerance;
+            this.rule = rule;
+            this.results = results;
+            this.lo = lo;
+            this.hi = hi;
+        }
+
+        @Override
+        protected void compute() {
+            if (hi - lo == 1) {
+                results[lo] = rule.integrate(func, bounds[lo], bounds[lo + 1], tolerance);
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            invokeAll(new ChunkTask(func, bounds, tolerance, rule, results, lo, mid),
+                    new ChunkTask(func, bounds, tolerance, rule, results, mid, hi));
+        }
+    }
+
+    /**
+     * Calculates the integral in parallel, splitting [a, b] into chunks of equal width integrated by the given rule
+     * on the threads of a {@link ForkJoinPool}.
+     * <p>
+     * Every chunk is integrated with its share tolerance / chunks of the tolerance. The results are stored by chunk
+     * and summed in the order of the chunks once all are done, so the value is the same to the last digit
+     * whatever the number of threads. The function must support being evaluated from several threads at once,
+     * as {@link Functions.ExpressionFunction} does, and the share of the tolerance should stay above the rounding
+     * of its values, which the adaptive rules cannot go below.
+     * </p>
+     *
+     * @param func      the function to integrate
+     * @param a         the lower limit of integration
+     * @param b         the upper limit of integration
+     * @param chunks    the number of chunks
+     * @param tolerance the requested absolute error
+     * @param rule      the integration method applied to every chunk
+     * @return the {@link Result} holding the integral value, its estimated error and the number of evaluations
+     * @throws ArithmeticException if an input is null, a is greater than or equal to b, chunks is less than or equal to 0,
+     *                             the tolerance is not positive, or the rule fails on a chunk
+     */
+    public static Result getParallel(Function func, BigDecimal a, BigDecimal b, int chunks, BigDecimal tolerance, Rule rule) {
+        checkAdaptiveInputs(func, a, b, tolerance);
+        if (chunks <= 0)
+            throw new ArithmeticException("invalid inputs : chunks cannot be smaller or equal to 0");
+        else if (rule == null)
+            throw new ArithmeticException("invalid inputs : rule cannot be null");
+        MathContext mc = new MathContext(Accuracy.getValue() + GUARD_DIGITS, RoundingMode.HALF_UP);
+        BigDecimal[] bounds = new BigDecimal[chunks + 1];
+        BigDecimal width = b.subtract(a);
+        for (int i = 0; i < chunks; i++)
+            bounds[i] = a.add(width.multiply(new BigDecimal(i)).divide(new BigDecimal(chunks), mc));
+        bounds[chunks] = b;
+        BigDecimal share = tolerance.divide(new BigDecimal(chunks), mc);
+        Result[] results = new Result[chunks];
+        getPool().invoke(new ChunkTask(func, bounds, share, rule, results, 0, chunks));
+        // ordered reduction , independent of the scheduling of the chunks
+        BigDecimal value = new BigDecimal(0), error = new BigDecimal(0);
+        int evaluations = 0;
+        for (Result result : results) {
+            value = value.add(result.getValue(), mc);
+            error = error.add(result.getError(), mc);
+            evaluations += result.getEvaluations();
+        }
+        e = error;
+        return new Result(value, error, evaluations);
+    }
+
+    /**
+     * Calculates the integral in parallel with the adaptive Gauss-Kronrod method on every chunk, to the accuracy.
+     *
+     * @param func   the function to integrate
+     * @param a      the lower limit of integration
+     * @param b      the upper limit of integration
+     * @param chunks the number of chunks
+     * @return the {@link Result} holding the integral value, its estimated error and the number of evaluations
+     * @throws ArithmeticException if an input is null, a is greater than or equal to b, or chunks is less than or equal to 0
+     */
+    public static Result getParallel(Function func, BigDecimal a, BigDecimal b, int chunks) {
+        return getParallel(func, a, b, chunks, BigDecimal.ONE.scaleByPowerOfTen(-Accuracy.getValue()), Integral::getGaussKronrod);
+    }
+
+    private static synchronized ForkJoinPool getPool() {
+        if (pool == null)
+            pool = new ForkJoinPool(parallelism);
+        return pool;
+    }
+
+    /**
+     * Returns the number of threads used by the parallel integrations.
+     *
+     * @return the parallelism of the pool
+     */
+    public static synchronized int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * Sets the number of threads used by the parallel integrations, the previous pool being shut down.
+     *
+     * @param parallelism the number of threads, by default the number of available processors
+     * @throws ArithmeticException if parallelism is less than or equal to 0
+     */
+    public static synchronized void setParallelism(int parallelism) {
+        if (parallelism <= 0)
+            throw new ArithmeticException("invalid inputs : parallelism cannot be smaller or equal to 0");
+        if (pool != null && parallelism != Integral.parallelism) {
+            pool.shutdown();
+            pool = null;
+        }
+        Integral.parallelism = parallelism;
+    }
+
+    /**
+     * Returns the estimated error of the last performed integration, set by the adaptive methods.
      *
      * @return the estimated error
      */
@@ -1,5 +1,7 @@
 package Numerics;
 
+import Functions.BarycentricLagrange;
+import Functions.PiecewiseFunction;
 import Functions.PointsFunction;
 import Functions.Polynomial;
 import Util.Accuracy;
@@ -10,7 +12,11 @@ import java.math.BigDecimal;
 import java.math.MathContext;
 import java.math.RoundingMode;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
+import java.util.Map;
 import java.util.Queue;
 
 /**
@@ -60,63 +66,23 @@ public abstract class Interpolation {
      * The Lagrange class provides methods to get the Interpolation Function using <b>Lagrange</b> method
      */
     public static class Lagrange {
-        /**
-         * Returns <b>Lagrange Polynomial</b> at the given index
-         *
-         * @param index the index of the required Lagrange Polynomial (Lj)
-         * @param xp    an ArrayList of x points
-         * @return the result Lagrange Polynomial as {@link Polynomial}
-         */
-        private static Polynomial getLagrangePolyAt(int index, ArrayList<BigDecimal> xp) {
-            // initialize scalar to 1 to be multiplied with a number
-            BigDecimal scalar = new BigDecimal(1);
-            // initialize a Polynomial with the value a0 = 1 to be multiplied with other polynomials ; the Lagrange Polynomial
-            Polynomial lag = new Polynomial(new BigDecimal(1));
-            for (int i = 0; i < xp.size(); i++) {
-                // xi != xj ; where j is Lagrange Polynomial is created for (Lj) ; other words j = index
-                if (i != index) {
-                    // make scalar = (xj - xj) => (xj - x0 ) * (xj - x1 ) ... (xj - xj-1) * (xj - xj+1)
-                    scalar = scalar.multiply(xp.get(index).subtract(xp.get(i)));
-                    // create a Polynomial with a0 = -xi and a1 = 1 (a1*x + a0) ; (x - xi ) => (x - x0 ) * (x - x1)
-                    Polynomial poly = new Polynomial(xp.get(i).multiply(new BigDecimal(-1)), new BigDecimal(1));
-                    // create Lagrange Polynomial by : (x - x0 ) * (x - x1) .. (x - xj) * (x - xj+1) ..
-                    lag = lag.multiply(poly);
-                }
-            }
-            // Divide the multiplied polynomials ( (x - x0 ) * (x - x1) .. (x - xj) * (x - xj+1) ..)
-            // on scalar ( (xj - x0 ) * (xj - x1 ) ... (xj - xj-1) * (xj - xj+1)..)
-            // which is Lagrange Polynomial
-            scalar = new BigDecimal(1).divide(scalar, Accuracy.getValue() + 3, RoundingMode.HALF_UP);
-            lag = lag.multiply(scalar);
-            return lag;
-        }
-
         /**
          * Returns Interpolation Function As {@link Polynomial} using <b>Lagrange</b>
+         * <p>
+         * The product M(x) = (x - x0) * (x - x1) ... (x - xn) is built once with a product tree
+         * ({@link Polynomial#fromRoots(java.util.List)}), then each Lagrange Polynomial numerator M(x) / (x - xj)
+         * is obtained by a Horner division, so the whole interpolation takes O(n^2) operations instead of O(n^3).
+         * </p>
          *
          * @param func {@link PointsFunction} object representing the function to be interpolated
          * @return the result of Interpolation as {@link Polynomial}
          * @throws ArithmeticException if the given function is null
+         * @see BarycentricLagrange for evaluating the interpolation without the monomial form
          */
         public static Polynomial getIFAP(PointsFunction func) {
             if (func == null)
                 throw new ArithmeticException("invalid inputs : Function cannot be null");
-            // get x points
-            ArrayList<BigDecimal> xp = func.getXp();
-            // get y point
-            ArrayList<BigDecimal> yp = func.getYp();
-            // initialize result Polynomial (Interpolation answer by Lagrange )
-            // with value 0 to add it to other Polynomial
-            Polynomial res = new Polynomial(new BigDecimal(0));
-            for (int i = 0; i < xp.size(); i++) {
-                //get Lagrange Polynomial at index = i (Li)
-                Polynomial lag = getLagrangePolyAt(i, xp);
-                //multiply Lagrange Polynomial with yi ( yi * Li)
-                lag = lag.multiply(yp.get(i));
-                // add the multiply result to result Polynomial (Interpolation answer by Lagrange )
-                res = res.add(lag);
-            }
-            return res;
+            return new BarycentricLagrange(func).getPolynomial();
         }
 
         /**
@@ -600,62 +566,18 @@ public abstract class Interpolation {
         public static ArrayList<BigDecimal> getUDV(PointsFunction func) {
             if (func == null)
                 throw new ArithmeticException("invalid inputs : Function cannot be null");
-            // get x points
-            ArrayList<BigDecimal> xp = func.getXp();
-            // get y points
-            ArrayList<BigDecimal> yp = func.getYp();
+            // the table is kept by the function and only extended with the points added since the last call
+            ArrayList<BigDecimal> f0 = func.getDividedDifferences().getCoefficients();
             // init result ArrayList (Upper diameter values)
             ArrayList<BigDecimal> res = new ArrayList<>();
             //add y0 to result
-            res.add(yp.get(0));
-            // initialize queue with the first column values ( yi )
-            Queue<BigDecimal> q = new LinkedList<>(yp);
-            // n : the number of the valid element to the current columns
-            // i : the index of the current element
-            // j : the difference between the two x point
-            // in the current iteration : xi+j - xi
-            int n = yp.size(), i = 0, j = 1;
-            // yi : current y value
-            // yi1 : forward y value ( yi+1 )
-            // xi : current x value
-            // xi1 : forward x value ( xi+j )
-            // temp : temporary result of (yi+1 - yi) / (xi+j - xi)
-            BigDecimal yi, yi1, xi, xi1, temp;
-            while (q.size() > 1) {
-                // get yi and delete it from queue
-                yi = q.poll();
-                // get yi+1 without deleting ; to use it in the next iteration
-                yi1 = q.element();
-                // get xi value
-                xi = xp.get(i);
-                // get xi+j value
-                xi1 = xp.get(i + j);
-                // get current element result
-                temp = (yi1.subtract(yi)).divide(xi1.subtract(xi), Accuracy.getValue() + 3, RoundingMode.HALF_UP);
-                // add the current element to the queue
-                q.add(temp);
-                // reaching the start of the column c
-                if (i == 0) {
-                    // reaching zeros ; no more terms => end while -> return result
-                    if (temp.compareTo(new BigDecimal(0)) == 0)
-                        break;
-                    // add this value to result
-                    res.add(fixAccuracy(temp));
-                }
-                // i = i+1 the index of the second element to the next iteration
-                i++;
-                // reaching end of columns c => reinitialize variables for the next loop
-                if (i == n - 1) {
-                    // reset index
-                    i = 0;
-                    // resize the valid element in next column in the next iteration
-                    n--;
-                    // make the difference bigger between xi+j and xi
-                    j++;
-                    // delete the last element of this current columns ;
-                    // so it do not interfere with the next column answer
-                    q.poll();
-                }
+            res.add(f0.get(0));
+            for (int i = 1; i < f0.size(); i++) {
+                // reaching zeros ; no more terms => return result
+                if (f0.get(i).compareTo(new BigDecimal(0)) == 0)
+                    break;
+                // add this value to result
+                res.add(fixAccuracy(f0.get(i)));
             }
             return res;
         }
@@ -924,39 +846,285 @@ public abstract class Interpolation {
                 throw new ArithmeticException("invalid inputs : Function cannot be null");
             else if (degree < 0)
                 throw new ArithmeticException("invalid inputs : degree cannot be smaller or equal to zero");
-            // get x points
-            ArrayList<BigDecimal> xp = func.getXp();
-            // get y point
-            ArrayList<BigDecimal> yp = func.getYp();
-            // init a new matrix to solve a system of equations
-            // of m + 1 equation (row) and m + 2 column
-            // where degree = m
-            Matrix SE = new Matrix(degree + 1, degree + 2);
-            // loop for equations coefficients
-            for (int i = 0; i <= degree; i++) {
-                ArrayList<BigDecimal> coeffs = new ArrayList<>();
-                // loop for getting current equation coefficient
-                for (int s = i; s <= i + degree; s++) {
-                    // init xksum for ∑xk^s ; ∑xk^s , ∑xk^s+1 ∑xk^s+2 ...
-                    BigDecimal xksum = new BigDecimal(0);
-                    // loop for  ∑xk^s
-                    for (int k = 0; k < xp.size(); k++) {
-                        xksum = xksum.add(BigDecimalUtil.pow(xp.get(k), new BigDecimal(s)));
-                    }
-                    coeffs.add(xksum);
+            return new Accumulator(degree).add(func).getPolynomial();
+        }
+
+        /**
+         * The Accumulator class gathers the sums of the normal equations of <b>Least-Squares</b> one point at a time :
+         * ∑xk^s for s = 0 .. 2m and ∑xk^s*f(xk) for s = 0 .. m, where m is the degree.
+         * <p>
+         * Adding a point takes O(m) operations whatever the number of points already added, and the fitted
+         * {@link Polynomial} can be asked for at any moment. Accumulators of separate chunks of points can be
+         * filled in parallel and merged, the sums being simply added.
+         * </p>
+         *
+         * <p>Usage Example:</p>
+         * <pre>{@code
+         * Interpolation.LeastSquares.Accumulator acc = new Interpolation.LeastSquares.Accumulator(2);
+         * acc.add(new BigDecimal(1), new BigDecimal("2.1"));
+         * acc.add(func);
+         * acc.merge(other);
+         * Polynomial fit = acc.getPolynomial();
+         * }</pre>
+         */
+        public static class Accumulator {
+            private final int degree;
+
+            /**
+             * The sums ∑xk^s for s = 0 .. 2m
+             */
+            private final BigDecimal[] xksums;
+
+            /**
+             * The sums ∑xk^s*f(xk) for s = 0 .. m
+             */
+            private final BigDecimal[] xk_fxk_sums;
+
+            private long count;
+
+            /**
+             * Constructs an empty accumulator for a polynomial of the given degree.
+             *
+             * @param degree the degree of the fitted Polynomial
+             * @throws ArithmeticException if degree is smaller than zero
+             */
+            public Accumulator(int degree) {
+                if (degree < 0)
+                    throw new ArithmeticException("invalid inputs : degree cannot be smaller or equal to zero");
+                this.degree = degree;
+                xksums = new BigDecimal[2 * degree + 1];
+                xk_fxk_sums = new BigDecimal[degree + 1];
+                Arrays.fill(xksums, new BigDecimal(0));
+                Arrays.fill(xk_fxk_sums, new BigDecimal(0));
+            }
+
+            /**
+             * Adds a point to the sums.
+             *
+             * @param xk  the x-coordinate of the point
+             * @param fxk the y-coordinate of the point
+             * @return this accumulator
+             * @throws ArithmeticException if xk or fxk is null
+             */
+            public Accumulator add(BigDecimal xk, BigDecimal fxk) {
+                if (xk == null || fxk == null)
+                    throw new ArithmeticException("invalid inputs : point cannot be null");
+                // xk^s
+                BigDecimal power = new BigDecimal(1);
+                for (int s = 0; s <= 2 * degree; s++) {
+                    xksums[s] = xksums[s].add(power, BigDecimalUtil.context);
+                    if (s <= degree)
+                        xk_fxk_sums[s] = xk_fxk_sums[s].add(power.multiply(fxk), BigDecimalUtil.context);
+                    power = power.multiply(xk, BigDecimalUtil.context);
                 }
-                // init xk * f(xk) sum for ∑xk^s*f(xk)
-                BigDecimal xk_fxk_sum = new BigDecimal(0);
-                // loop for  ∑xk^s*f(xk)
-                for (int k = 0; k < xp.size(); k++) {
-                    xk_fxk_sum = xk_fxk_sum.add(BigDecimalUtil.pow(xp.get(k), new BigDecimal(i)).multiply(yp.get(k)));
+                count++;
+                return this;
+            }
+
+            /**
+             * Adds every point of a function, read through its accessors so that mapped functions are streamed.
+             *
+             * @param func {@link PointsFunction} object holding the points
+             * @return this accumulator
+             * @throws ArithmeticException if the given function is null
+             */
+            public Accumulator add(PointsFunction func) {
+                if (func == null)
+                    throw new ArithmeticException("invalid inputs : Function cannot be null");
+                return add(func, 0, func.size());
+            }
+
+            /**
+             * Adds the points of indexes from (inclusive) to to (exclusive) of a function, as one chunk.
+             *
+             * @param func {@link PointsFunction} object holding the points
+             * @param from the index of the first point of the chunk
+             * @param to   the index after the last point of the chunk
+             * @return this accumulator
+             * @throws ArithmeticException if the given function is null or the range is out of the points
+             */
+            public Accumulator add(PointsFunction func, int from, int to) {
+                if (func == null)
+                    throw new ArithmeticException("invalid inputs : Function cannot be null");
+                else if (from < 0 || to > func.size() || from > to)
+                    throw new ArithmeticException("invalid inputs : range out of the points");
+                for (int k = from; k < to; k++)
+                    add(func.getX(k), func.getValueAt(k));
+                return this;
+            }
+
+            /**
+             * Adds the sums of another accumulator of the same degree, as if its points were added to this one.
+             *
+             * @param other the accumulator to merge into this one
+             * @return this accumulator
+             * @throws ArithmeticException if other is null or its degree is different
+             */
+            public Accumulator merge(Accumulator other) {
+                if (other == null)
+                    throw new ArithmeticException("invalid inputs : accumulator cannot be null");
+                else if (other.degree != degree)
+                    throw new ArithmeticException("invalid inputs : degrees mismatch");
+                for (int s = 0; s < xksums.length; s++)
+                    xksums[s] = xksums[s].add(other.xksums[s], BigDecimalUtil.context);
+                for (int s = 0; s < xk_fxk_sums.length; s++)
+                    xk_fxk_sums[s] = xk_fxk_sums[s].add(other.xk_fxk_sums[s], BigDecimalUtil.context);
+                count += other.count;
+                return this;
+            }
+
+            /**
+             * Returns the degree of the fitted Polynomial.
+             *
+             * @return the degree
+             */
+            public int getDegree() {
+                return degree;
+            }
+
+            /**
+             * Returns the number of points added, including the merged ones.
+             *
+             * @return the number of points
+             */
+            public long getCount() {
+                return count;
+            }
+
+            /**
+             * Returns the Polynomial fitting the points added so far, by solving the normal equations.
+             *
+             * @return the result of Interpolation as {@link Polynomial}
+             */
+            public Polynomial getPolynomial() {
+                // init a new matrix to solve a system of equations
+                // of m + 1 equation (row) and m + 2 column
+                // where degree = m
+                Matrix SE = new Matrix(degree + 1, degree + 2);
+                // loop for equations coefficients
+                for (int i = 0; i <= degree; i++) {
+                    ArrayList<BigDecimal> coeffs = new ArrayList<>();
+                    // current equation coefficients : ∑xk^i , ∑xk^i+1 ... ∑xk^i+m
+                    for (int s = i; s <= i + degree; s++)
+                        coeffs.add(xksums[s]);
+                    // ∑xk^i*f(xk)
+                    coeffs.add(xk_fxk_sums[i]);
+                    SE.setRow(i, coeffs);
                 }
-                coeffs.add(xk_fxk_sum);
-                SE.setRow(i, coeffs);
+                //get solution Polynomial coefficient by solving the system of equations
+                ArrayList<BigDecimal> solcoeefs = SE.solve();
+                return new Polynomial(solcoeefs);
             }
-            //get solution Polynomial coefficient by solving the system of equations
-            ArrayList<BigDecimal> solcoeefs = SE.solve();
-            return new Polynomial(solcoeefs);
+        }
+    }
+
+    /**
+     * Orthogonal Least-Squares class methods for getting the interpolation function using <b>Least-Squares</b>
+     * on discrete orthogonal polynomials (<b>Forsythe</b> method)
+     * <p>
+     * The normal equations of {@link LeastSquares} square the condition number of the fit, so that high degrees need
+     * a high accuracy. Here the x points are mapped on [-1, 1], and the polynomials orthogonal over them are built by
+     * the three-term recurrence pj+1(t) = (t - αj+1) pj(t) - βj pj-1(t); the coefficient of each one is then a simple
+     * projection cj = ∑rk pj(tk) / ∑pj(tk)^2 of the residuals, without any system to solve.
+     * The arithmetic only keeps {@link #GUARD_DIGITS} digits more than the accuracy, while the final change of
+     * variable back to x is exact.
+     * </p>
+     */
+    public static class OrthogonalLeastSquares {
+        /**
+         * The number of digits kept beyond the accuracy
+         */
+        public static final int GUARD_DIGITS = 6;
+
+        /**
+         * Returns Interpolation Function As {@link Polynomial} using <b>Least-Squares</b> on orthogonal polynomials
+         *
+         * @param func   {@link PointsFunction} object representing the function to be interpolated
+         * @param degree the degree of the required Polynomial
+         * @return the result of Interpolation as {@link Polynomial}
+         * @throws ArithmeticException if the given function is null <b>or</b> degree is smaller than zero
+         *                             <b>or</b> there are not more distinct x points than the degree
+         */
+        public static Polynomial getIFAP(PointsFunction func, int degree) {
+            if (func == null)
+                throw new ArithmeticException("invalid inputs : Function cannot be null");
+            else if (degree < 0)
+                throw new ArithmeticException("invalid inputs : degree cannot be smaller or equal to zero");
+            int n = func.size();
+            if (n <= degree)
+                throw new ArithmeticException("invalid inputs : degree must be smaller than the number of points");
+            MathContext mc = new MathContext(Accuracy.getValue() + GUARD_DIGITS, RoundingMode.HALF_UP);
+            // map [min, max] on [-1, 1] : t = u x + v
+            BigDecimal min = func.getX(0), max = func.getX(0);
+            for (int k = 1; k < n; k++) {
+                min = min.min(func.getX(k));
+                max = max.max(func.getX(k));
+            }
+            BigDecimal u = new BigDecimal(1), v = new BigDecimal(0);
+            if (max.compareTo(min) != 0) {
+                u = new BigDecimal(2).divide(max.subtract(min), mc);
+                v = max.add(min).negate().divide(max.subtract(min), mc);
+            }
+            BigDecimal[] t = new BigDecimal[n];
+            // r : the residuals yk - ∑ci pi(tk) of the terms found so far
+            BigDecimal[] r = new BigDecimal[n];
+            for (int k = 0; k < n; k++) {
+                t[k] = u.multiply(func.getX(k)).add(v, mc);
+                r[k] = func.getValueAt(k);
+            }
+            // values and coefficients (in t) of pj-1 and pj , p-1 = 0 and p0 = 1
+            BigDecimal[] prev = new BigDecimal[n], curr = new BigDecimal[n];
+            Arrays.fill(prev, new BigDecimal(0));
+            Arrays.fill(curr, new BigDecimal(1));
+            BigDecimal[] prevPoly = {new BigDecimal(0)}, currPoly = {new BigDecimal(1)};
+            BigDecimal[] res = new BigDecimal[degree + 1];
+            Arrays.fill(res, new BigDecimal(0));
+            BigDecimal prevNorm = null;
+            for (int j = 0; j <= degree; j++) {
+                // ∑pj(tk)^2 , ∑tk pj(tk)^2 and ∑rk pj(tk)
+                BigDecimal norm = new BigDecimal(0), tnorm = new BigDecimal(0), proj = new BigDecimal(0);
+                for (int k = 0; k < n; k++) {
+                    BigDecimal sq = curr[k].multiply(curr[k], mc);
+                    norm = norm.add(sq, mc);
+                    tnorm = tnorm.add(t[k].multiply(sq, mc), mc);
+                    proj = proj.add(r[k].multiply(curr[k], mc), mc);
+                }
+                if (norm.signum() == 0)
+                    throw new ArithmeticException("invalid inputs : degree must be smaller than the number of distinct x points");
+                BigDecimal c = proj.divide(norm, mc);
+                for (int k = 0; k < n; k++)
+                    r[k] = r[k].subtract(c.multiply(curr[k], mc), mc);
+                for (int i = 0; i < currPoly.length; i++)
+                    res[i] = res[i].add(c.multiply(currPoly[i], mc), mc);
+                if (j == degree)
+                    break;
+                // pj+1 = (t - αj+1) pj - βj pj-1 , αj+1 = ∑tk pj^2 / ∑pj^2 , βj = ∑pj^2 / ∑pj-1^2
+                BigDecimal alpha = tnorm.divide(norm, mc);
+                BigDecimal beta = prevNorm == null ? new BigDecimal(0) : norm.divide(prevNorm, mc);
+                BigDecimal[] next = new BigDecimal[n];
+                for (int k = 0; k < n; k++)
+                    next[k] = t[k].subtract(alpha).multiply(curr[k], mc).subtract(beta.multiply(prev[k], mc), mc);
+                BigDecimal[] nextPoly = new BigDecimal[currPoly.length + 1];
+                Arrays.fill(nextPoly, new BigDecimal(0));
+                for (int i = 0; i < currPoly.length; i++) {
+                    nextPoly[i + 1] = nextPoly[i + 1].add(currPoly[i]);
+                    nextPoly[i] = nextPoly[i].subtract(alpha.multiply(currPoly[i], mc), mc);
+                }
+                for (int i = 0; i < prevPoly.length; i++)
+                    nextPoly[i] = nextPoly[i].subtract(beta.multiply(prevPoly[i], mc), mc);
+                prev = curr;
+                curr = next;
+                prevPoly = currPoly;
+                currPoly = nextPoly;
+                prevNorm = norm;
+            }
+            // back to x : P(u x + v) by Horner's method on polynomials, kept exact since for x points far from the
+            // origin the monomial coefficients cancel each other far beyond the accuracy
+            Polynomial ux_v = new Polynomial(v, u);
+            Polynomial poly = new Polynomial(res[degree]);
+            for (int i = degree - 1; i >= 0; i--)
+                poly = poly.multiply(ux_v).add(res[i]);
+            return poly;
         }
     }
 
@@ -966,6 +1134,9 @@ public abstract class Interpolation {
     public static class Spline {
         /**
          * Returns an ArrayList of {@link Polynomial} representing the Interpolation Function using <b>Spline</b>
+         * <p>
+         * The pieces are the lines joining the consecutive points; for cubic splines see {@link Functions.CubicSpline}.
+         * </p>
          *
          * @param func {@link PointsFunction} object representing the function to be interpolated
          * @return the result of Interpolation an ArrayList of {@link Polynomial}
@@ -997,6 +1168,258 @@ public abstract class Interpolation {
             }
             return S;
         }
+
+        /**
+         * Returns the Interpolation Function using <b>Spline</b> as a {@link PiecewiseFunction},
+         * which finds the line of a given x by binary search instead of scanning the points.
+         *
+         * @param func {@link PointsFunction} object representing the function to be interpolated
+         * @return the result of Interpolation as {@link PiecewiseFunction}
+         * @throws ArithmeticException if the given function is null, has less than two points or repeated x points
+         */
+        public static PiecewiseFunction getPiecewise(PointsFunction func) {
+            if (func == null)
+                throw new ArithmeticException("invalid inputs : Function cannot be null");
+            // sort the points by x
+            ArrayList<Integer> order = new ArrayList<>();
+            for (int i = 0; i < func.getXp().size(); i++)
+                order.add(i);
+            order.sort((i, j) -> func.getXp().get(i).compareTo(func.getXp().get(j)));
+            ArrayList<BigDecimal> knots = new ArrayList<>();
+            ArrayList<Polynomial> pieces = new ArrayList<>();
+            for (int i : order)
+                knots.add(func.getXp().get(i));
+            for (int i = 0; i < order.size() - 1; i++) {
+                BigDecimal yi = func.getYp().get(order.get(i)), yi1 = func.getYp().get(order.get(i + 1));
+                BigDecimal h = knots.get(i + 1).subtract(knots.get(i));
+                if (h.signum() == 0)
+                    throw new ArithmeticException("invalid inputs : x points must be distinct");
+                // yi  +  (yi+1 - yi) / (xi+1 - xi)  *  t , where t = x - xi
+                pieces.add(new Polynomial(yi, (yi1.subtract(yi)).divide(h, Accuracy.getValue() + 3, RoundingMode.HALF_UP)));
+            }
+            return new PiecewiseFunction(knots, pieces);
+        }
+    }
+
+    /**
+     * Cache class keeps the interpolation polynomials already computed, so fitting the same points again with the
+     * same method and degree does not rebuild the polynomial.
+     * <p>
+     * The polynomials are keyed by the method, the degree, the accuracy and a copy of the points, found by their
+     * {@link PointsFunction#getContentHash()} and compared by value on every hit, so a collision of the hashes never
+     * returns the polynomial of other points. Two functions holding the same points share their entries, and a
+     * function changed by {@link PointsFunction#addPoint(BigDecimal, BigDecimal)} gets a new key, so the polynomials
+     * of its old points are never returned for it. At most {@link #getCapacity()} polynomials are kept, the least
+     * recently used being evicted first; the hit and miss counters help choosing the capacity.
+     * </p>
+     *
+     * <p>Usage Example:</p>
+     * <pre>{@code
+     * Polynomial p = Interpolation.Cache.getIFAP(Interpolation.Cache.Method.LAGRANGE, func, 0);
+     * System.out.println(Interpolation.Cache.getHits() + " / " + Interpolation.Cache.getMisses());
+     * }</pre>
+     */
+    public static class Cache {
+        /**
+         * The interpolation methods whose polynomials can be cached
+         */
+        public enum Method {
+            GENERAL,
+            LAGRANGE,
+            NEWTON_GREGORY_FORWARD,
+            NEWTON_GREGORY_BACKWARD,
+            NEWTON_FORWARD_DIVIDED,
+            NEWTON_BACKWARD_DIVIDED,
+            LEAST_SQUARES,
+            ORTHOGONAL_LEAST_SQUARES
+        }
+
+        /**
+         * The key of a polynomial : the hash only selects the bucket, the points themselves being compared on a hit
+         */
+        private static final class Key {
+            private final Method method;
+            private final int degree;
+            private final int accuracy;
+            private final long hash;
+            private final BigDecimal[] xs;
+            private final BigDecimal[] ys;
+
+            private Key(Method method, int degree, int accuracy, PointsFunction func) {
+                this.method = method;
+                this.degree = degree;
+                this.accuracy = accuracy;
+                this.hash = func.getContentHash();
+                int n = func.size();
+                xs = new BigDecimal[n];
+                ys = new BigDecimal[n];
+                for (int i = 0; i < n; i++) {
+                    xs[i] = func.getX(i);
+                    ys[i] = func.getValueAt(i);
+                }
+            }
+
+            @Override
+            public boolean equals(Object o) {
+                if (!(o instanceof Key))
+                    return false;
+                Key k = (Key) o;
+                if (method != k.method || degree != k.degree || accuracy != k.accuracy || hash != k.hash || xs.length != k.xs.length)
+                    return false;
+                for (int i = 0; i < xs.length; i++)
+                    if (xs[i].compareTo(k.xs[i]) != 0 || ys[i].compareTo(k.ys[i]) != 0)
+                        return false;
+                return true;
+            }
+
+            @Override
+            public int hashCode() {
+                return Long.hashCode(hash) * 31 + method.ordinal() * 17 + degree;
+            }
+        }
+
+        private static int capacity = 64;
+        private static long hits;
+        private static long misses;
+
+        /**
+         * The cached polynomials, in access order for the LRU eviction
+         */
+        private static final LinkedHashMap<Key, Polynomial> entries = new LinkedHashMap<Key, Polynomial>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Polynomial> eldest) {
+                return size() > capacity;
+            }
+        };
+
+        /**
+         * Returns the Interpolation Function As {@link Polynomial} using the given method, from the cache if the same
+         * points were already fitted with it.
+         *
+         * @param method the interpolation method
+         * @param func   {@link PointsFunction} object representing the function to be interpolated
+         * @param degree the degree of the polynomial, ignored by the General and Lagrange methods
+         * @return the result of Interpolation as {@link Polynomial}, a copy of the cached one
+         * @throws ArithmeticException if the method or the function is null, or the method fails on the function
+         */
+        public static Polynomial getIFAP(Method method, PointsFunction func, int degree) {
+            if (method == null || func == null)
+                throw new ArithmeticException("invalid inputs : method and Function cannot be null");
+            if (method == Method.GENERAL || method == Method.LAGRANGE)
+                degree = func.size() - 1;
+            Key key = new Key(method, degree, Accuracy.getValue(), func);
+            Polynomial poly;
+            synchronized (entries) {
+                poly = entries.get(key);
+                if (poly != null)
+                    hits++;
+                else
+                    misses++;
+            }
+            if (poly == null) {
+                poly = fit(method, func, degree);
+                synchronized (entries) {
+                    entries.put(key, poly);
+                }
+            }
+            // the polynomials are mutable, so the cached one is never handed out
+            return new Polynomial(new ArrayList<>(poly.getCoeffs()));
+        }
+
+        private static Polynomial fit(Method method, PointsFunction func, int degree) {
+            switch (method) {
+                case GENERAL:
+                    return GeneralMethod.getIFAP(func);
+                case LAGRANGE:
+                    return Lagrange.getIFAP(func);
+                case NEWTON_GREGORY_FORWARD:
+                    return Newton_GregoryForwardSubtractions.getIFAP(func, degree);
+                case NEWTON_GREGORY_BACKWARD:
+                    return Newton_GregoryBackwardSubtractions.getIFAP(func, degree);
+                case NEWTON_FORWARD_DIVIDED:
+                    return NewtonForwardDividedSubtractions.getIFAP(func, degree);
+                case NEWTON_BACKWARD_DIVIDED:
+                    return NewtonBackwardDividedSubtractions.getIFAP(func, degree);
+                case LEAST_SQUARES:
+                    return LeastSquares.getIFAP(func, degree);
+                default:
+                    return OrthogonalLeastSquares.getIFAP(func, degree);
+            }
+        }
+
+        /**
+         * Returns the greatest number of polynomials kept.
+         *
+         * @return the capacity of the cache
+         */
+        public static int getCapacity() {
+            synchronized (entries) {
+                return capacity;
+            }
+        }
+
+        /**
+         * Sets the greatest number of polynomials kept, evicting the least recently used ones above it.
+         *
+         * @param capacity the new capacity, zero disabling the cache
+         * @throws ArithmeticException if capacity is negative
+         */
+        public static void setCapacity(int capacity) {
+            if (capacity < 0)
+                throw new ArithmeticException("invalid inputs : capacity cannot be negative");
+            synchronized (entries) {
+                Cache.capacity = capacity;
+                Iterator<Key> it = entries.keySet().iterator();
+                while (entries.size() > capacity && it.hasNext()) {
+                    it.next();
+                    it.remove();
+                }
+            }
+        }
+
+        /**
+         * Returns the number of polynomials currently kept.
+         *
+         * @return the size of the cache
+         */
+        public static int size() {
+            synchronized (entries) {
+                return entries.size();
+            }
+        }
+
+        /**
+         * Returns the number of calls answered from the cache.
+         *
+         * @return the number of hits
+         */
+        public static long getHits() {
+            synchronized (entries) {
+                return hits;
+            }
+        }
+
+        /**
+         * Returns the number of calls that had to fit the polynomial.
+         *
+         * @return the number of misses
+         */
+        public static long getMisses() {
+            synchronized (entries) {
+                return misses;
+            }
+        }
+
+        /**
+         * Removes every polynomial and resets the counters.
+         */
+        public static void clear() {
+            synchronized (entries) {
+                entries.clear();
+                hits = 0;
+                misses = 0;
+            }
+        }
     }
 
     /**
@@ -1,7 +1,9 @@
 package Numerics;
 
 import Functions.ExpressionFunction;
+import Functions.Function;
 import Util.Accuracy;
+import Util.HyperDual;
 
 import java.math.BigDecimal;
 import java.math.MathContext;
@@ -16,6 +18,56 @@ import java.math.RoundingMode;
 public abstract class NonLinearEquation {
     private static final int loopTime = 1000;
 
+    /**
+     * The Derivatives interface gives the value of an equation at a point and, only when the method iterates again
+     * from that point, its derivatives there, as many as the method needs.
+     */
+    private interface Derivatives {
+        BigDecimal valueAt(BigDecimal x);
+
+        /**
+         * Returns the derivatives at x, valueAt(x) having just been called.
+         */
+        BigDecimal[] derivativesAt(BigDecimal x);
+    }
+
+    /**
+     * Returns the values of fx and of the given derivative functions.
+     */
+    private static Derivatives of(ExpressionFunction fx, ExpressionFunction... dfx) {
+        return new Derivatives() {
+            public BigDecimal valueAt(BigDecimal x) {
+                return fx.getValueAt(x);
+            }
+
+            public BigDecimal[] derivativesAt(BigDecimal x) {
+                BigDecimal[] res = new BigDecimal[dfx.length];
+                for (int i = 0; i < dfx.length; i++)
+                    res[i] = dfx[i].getValueAt(x);
+                return res;
+            }
+        };
+    }
+
+    /**
+     * Returns the values of fx and of its first rank derivatives, computed together by automatic differentiation :
+     * the derivatives are those of the last point passed to valueAt.
+     */
+    private static Derivatives ofDual(ExpressionFunction fx, int rank) {
+        return new Derivatives() {
+            private HyperDual last;
+
+            public BigDecimal valueAt(BigDecimal x) {
+                last = fx.getDualAt(x);
+                return last.getValue();
+            }
+
+            public BigDecimal[] derivativesAt(BigDecimal x) {
+                return rank == 1 ? new BigDecimal[]{last.getFirst()} : new BigDecimal[]{last.getFirst(), last.getSecond()};
+            }
+        };
+    }
+
     /**
      * The Bisection class provides methods for solving equations using the Bisection method.
      */
@@ -23,13 +75,13 @@ public abstract class NonLinearEquation {
         /**
          * Solves the given equation using the Bisection method within a specified tolerance.
          *
-         * @param fx The expression function representing the equation.
+         * @param fx The function representing the equation.
          * @param a  The lower bound of the interval.
          * @param b  The upper bound of the interval.
          * @param e  The tolerance value.
          * @return The approximate root of the equation.
          */
-        public static BigDecimal solve(ExpressionFunction fx, BigDecimal a, BigDecimal b, BigDecimal e) {
+        public static BigDecimal solve(Function fx, BigDecimal a, BigDecimal b, BigDecimal e) {
             long startTime = System.currentTimeMillis();
             BigDecimal fa = fx.getValueAt(a), fb = fx.getValueAt(b);
             BigDecimal c = a;
@@ -58,13 +110,13 @@ public abstract class NonLinearEquation {
         /**
          * Solves the given equation using the Bisection method with a default tolerance value.
          *
-         * @param fx The expression function representing the equation.
+         * @param fx The function representing the equation.
          * @param a  The lower bound of the interval.
          * @param b  The upper bound of the interval.
          * @return The approximate root of the equation.
          */
 
-        public static BigDecimal solve(ExpressionFunction fx, BigDecimal a, BigDecimal b) {
+        public static BigDecimal solve(Function fx, BigDecimal a, BigDecimal b) {
             return solve(fx, a, b, new BigDecimal(0));
         }
     }
@@ -76,13 +128,13 @@ public abstract class NonLinearEquation {
         /**
          * Solves the given equation using the False Position method within a specified tolerance.
          *
-         * @param fx The expression function representing the equation.
+         * @param fx The function representing the equation.
          * @param a  The lower bound of the interval.
          * @param b  The upper bound of the interval.
          * @param e  The tolerance value.
          * @return The approximate root of the equation.
          */
-        public static BigDecimal solve(ExpressionFunction fx, BigDecimal a, BigDecimal b, BigDecimal e) {
+        public static BigDecimal solve(Function fx, BigDecimal a, BigDecimal b, BigDecimal e) {
             long startTime = System.currentTimeMillis();
             BigDecimal fa = fx.getValueAt(a), fb = fx.getValueAt(b);
             BigDecimal c = a;
@@ -112,12 +164,12 @@ public abstract class NonLinearEquation {
         /**
          * Solves the given equation using the False Position method with a default tolerance value.
          *
-         * @param fx The expression function representing the equation.
+         * @param fx The function representing the equation.
          * @param a  The lower bound of the interval.
          * @param b  The upper bound of the interval.
          * @return The approximate root of the equation.
          */
-        public static BigDecimal solve(ExpressionFunction fx, BigDecimal a, BigDecimal b) {
+        public static BigDecimal solve(Function fx, BigDecimal a, BigDecimal b) {
             return solve(fx, a, b, new BigDecimal(0));
         }
     }
@@ -129,13 +181,13 @@ public abstract class NonLinearEquation {
         /**
          * Solves the given equation using the Secant method within a specified tolerance.
          *
-         * @param fx The expression function representing the equation.
+         * @param fx The function representing the equation.
          * @param x0 The initial guess for the root.
          * @param x1 The second guess for the root.
          * @param e  The tolerance value.
          * @return The approximate root of the equation.
          */
-        public static BigDecimal solve(ExpressionFunction fx, BigDecimal x0, BigDecimal x1, BigDecimal e) {
+        public static BigDecimal solve(Function fx, BigDecimal x0, BigDecimal x1, BigDecimal e) {
             long startTime = System.currentTimeMillis();
             BigDecimal xi_1 = x0, xi = x1;
             BigDecimal fxi_1 = fx.getValueAt(x0), fxi = fx.getValueAt(x1);
@@ -175,12 +227,12 @@ public abstract class NonLinearEquation {
         /**
          * Solves the given equation using the Secant method with a default tolerance value.
          *
-         * @param fx The expression function representing the equation.
+         * @param fx The function representing the equation.
          * @param x0 The initial guess for the root.
          * @param x1 The second guess for the root.
          * @return The approximate root of the equation.
          */
-        public static BigDecimal solve(ExpressionFunction fx, BigDecimal x0, BigDecimal x1) {
+        public static BigDecimal solve(Function fx, BigDecimal x0, BigDecimal x1) {
             return solve(fx, x0, x1, new BigDecimal(0));
         }
     }
@@ -199,33 +251,7 @@ public abstract class NonLinearEquation {
          * @return The approximate root of the equation.
          */
         public static BigDecimal solve(ExpressionFunction fx, ExpressionFunction dfx, BigDecimal x0, BigDecimal e) {
-            long startTime = System.currentTimeMillis();
-            BigDecimal xi = x0;
-            BigDecimal fxi = fx.getValueAt(xi), dfxi = dfx.getValueAt(xi);
-            BigDecimal xi1;
-            while (true) {
-                xi1 = xi.subtract(
-                        fxi.divide(
-                                dfxi, Accuracy.getValue() + 3, RoundingMode.HALF_UP
-                        )
-                );
-                BigDecimal fxi1 = fx.getValueAt(xi1);
-                if ((xi1.subtract(xi)).abs().compareTo(e) < 0 || (xi1.subtract(xi)).abs().compareTo(new BigDecimal(0)) == 0 || fxi1.compareTo(new BigDecimal(0)) == 0)
-                    break;
-                BigDecimal dfxi1 = dfx.getValueAt(xi1);
-                xi = xi1;
-                xi = xi.round(new MathContext(Accuracy.getValue(), RoundingMode.HALF_UP));
-                fxi = fxi1;
-                fxi = fxi.round(new MathContext(Accuracy.getValue(), RoundingMode.HALF_UP));
-                dfxi = dfxi1;
-                dfxi = dfxi.round(new MathContext(Accuracy.getValue(), RoundingMode.HALF_UP));
-
-                long currentTime = System.currentTimeMillis();
-                if (currentTime - startTime >= loopTime) {
-                    break;
-                }
-            }
-            return xi1;
+            return iterate(of(fx, dfx), x0, e);
         }
 
         /**
@@ -241,6 +267,31 @@ public abstract class NonLinearEquation {
             return solve(fx, dfx, x0, new BigDecimal(0));
         }
 
+        /**
+         * Solves the given equation using the Newton-Raphson method within a specified tolerance,
+         * f(xi) and f'(xi) being computed together in one pass by automatic differentiation.
+         *
+         * @param fx The expression function representing the equation.
+         * @param x0 The initial guess for the root.
+         * @param e  The tolerance value.
+         * @return The approximate root of the equation.
+         */
+        public static BigDecimal solve(ExpressionFunction fx, BigDecimal x0, BigDecimal e) {
+            return iterate(ofDual(fx, 1), x0, e);
+        }
+
+        /**
+         * Solves the given equation using the Newton-Raphson method with a default tolerance value,
+         * f(xi) and f'(xi) being computed together in one pass by automatic differentiation.
+         *
+         * @param fx The expression function representing the equation.
+         * @param x0 The initial guess for the root.
+         * @return The approximate root of the equation.
+         */
+        public static BigDecimal solve(ExpressionFunction fx, BigDecimal x0) {
+            return solve(fx, x0, new BigDecimal(0));
+        }
+
         /**
          * Solves the given equation using the Newton-Raphson method within a specified range and tolerance.
          *
@@ -274,6 +325,46 @@ public abstract class NonLinearEquation {
         public static BigDecimal solveRange(ExpressionFunction fx, ExpressionFunction dfx, BigDecimal a, BigDecimal b) {
             return solveRange(fx, dfx, a, b, new BigDecimal(0));
         }
+
+        /**
+         * Runs the Newton-Raphson iteration from x0, f'(x) being only asked for at the points it goes on from.
+         *
+         * @param f  The values of the equation and its derivative at a point.
+         * @param x0 The initial guess for the root.
+         * @param e  The tolerance value.
+         * @return The approximate root of the equation.
+         */
+        private static BigDecimal iterate(Derivatives f, BigDecimal x0, BigDecimal e) {
+            long startTime = System.currentTimeMillis();
+            BigDecimal xi = x0;
+            BigDecimal fxi = f.valueAt(xi);
+            BigDecimal[] di = f.derivativesAt(xi);
+            BigDecimal dfxi = di[0];
+            BigDecimal xi1;
+            while (true) {
+                xi1 = xi.subtract(
+                        fxi.divide(
+                                dfxi, Accuracy.getValue() + 3, RoundingMode.HALF_UP
+                        )
+                );
+                BigDecimal fxi1 = f.valueAt(xi1);
+                if ((xi1.subtract(xi)).abs().compareTo(e) < 0 || (xi1.subtract(xi)).abs().compareTo(new BigDecimal(0)) == 0 || fxi1.compareTo(new BigDecimal(0)) == 0)
+                    break;
+                BigDecimal[] di1 = f.derivativesAt(xi1);
+                xi = xi1;
+                xi = xi.round(new MathContext(Accuracy.getValue(), RoundingMode.HALF_UP));
+                fxi = fxi1;
+                fxi = fxi.round(new MathContext(Accuracy.getValue(), RoundingMode.HALF_UP));
+                dfxi = di1[0];
+                dfxi = dfxi.round(new MathContext(Accuracy.getValue(), RoundingMode.HALF_UP));
+
+                long currentTime = System.currentTimeMillis();
+                if (currentTime - startTime >= loopTime) {
+                    break;
+                }
+            }
+            return xi1;
+        }
     }
 
     /**
@@ -291,12 +382,38 @@ public abstract class NonLinearEquation {
          * @return The approximate root of the equation.
          */
         public static BigDecimal solve(ExpressionFunction fx, ExpressionFunction dfx, ExpressionFunction d2fx, BigDecimal x0, BigDecimal e) {
+            return iterate(of(fx, dfx, d2fx), x0, e);
+        }
+
+        /**
+         * Solves the given equation using the Halley method within a specified tolerance,
+         * f(xi), f'(xi) and f''(xi) being computed together in one pass by automatic differentiation.
+         *
+         * @param fx The expression function representing the equation.
+         * @param x0 The initial guess for the root.
+         * @param e  The tolerance value.
+         * @return The approximate root of the equation.
+         */
+        public static BigDecimal solve(ExpressionFunction fx, BigDecimal x0, BigDecimal e) {
+            return iterate(ofDual(fx, 2), x0, e);
+        }
+
+        /**
+         * Runs the Halley iteration from x0, f'(x) and f''(x) being only asked for at the points it goes on from.
+         *
+         * @param f  The values of the equation and its first two derivatives at a point.
+         * @param x0 The initial guess for the root.
+         * @param e  The tolerance value.
+         * @return The approximate root of the equation.
+         */
+        private static BigDecimal iterate(Derivatives f, BigDecimal x0, BigDecimal e) {
             long startTime = System.currentTimeMillis();
             BigDecimal xi = x0;
-            BigDecimal fxi = fx.getValueAt(xi), dfxi = dfx.getValueAt(xi), d2fxi = d2fx.getValueAt(xi);
+            BigDecimal fxi = f.valueAt(xi);
+            BigDecimal[] di = f.derivativesAt(xi);
+            BigDecimal dfxi = di[0], d2fxi = di[1];
             BigDecimal xi1;
             while (true) {
-                //System.out.println("f(xi) : "+fxi+" f'(xi) : "+dfxi+" f''(xi) : "+d2fxi);
                 xi1 = xi.subtract(
                         (fxi).divide(
                                 dfxi.subtract(
@@ -312,19 +429,17 @@ public abstract class NonLinearEquation {
                                         )
                                 ), Accuracy.getValue() + 3, RoundingMode.HALF_UP)
                 );
-                //System.out.println(" xi : " + xi + " xi+1 : " + xi1);
-                BigDecimal fxi1 = fx.getValueAt(xi1);
+                BigDecimal fxi1 = f.valueAt(xi1);
                 if ((xi1.subtract(xi)).abs().compareTo(e) < 0 || (xi1.subtract(xi)).abs().compareTo(new BigDecimal(0)) == 0 || fxi1.compareTo(new BigDecimal(0)) == 0)
                     break;
-                BigDecimal dfxi1 = dfx.getValueAt(xi1), d2fxi1 = d2fx.getValueAt(xi1);
-                //System.out.println("f(xi+1) : "+fxi1+" f'(xi+1) : "+dfxi1+" f''(xi+1) : "+d2fxi1);
+                BigDecimal[] di1 = f.derivativesAt(xi1);
                 xi = xi1;
                 xi = xi.round(new MathContext(Accuracy.getValue(), RoundingMode.HALF_UP));
                 fxi = fxi1;
                 fxi = fxi.round(new MathContext(Accuracy.getValue(), RoundingMode.HALF_UP));
-                dfxi = dfxi1;
+                dfxi = di1[0];
                 dfxi = dfxi.round(new MathContext(Accuracy.getValue(), RoundingMode.HALF_UP));
-                d2fxi = d2fxi1;
+                d2fxi = di1[1];
                 d2fxi = d2fxi.round(new MathContext(Accuracy.getValue(), RoundingMode.HALF_UP));
 
                 long currentTime = System.currentTimeMillis();
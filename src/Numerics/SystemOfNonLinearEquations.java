@@ -101,5 +101,21 @@ public abstract class SystemOfNonLinearEquations {
             xy.add(yip);
             return xy;
         }
+
+        /**
+         * Solves a system of nonlinear equations using the Newton-Raphson method,
+         * the partial derivatives being computed symbolically from the equations.
+         *
+         * @param fx         The expression function representing the first equation.
+         * @param gx         The expression function representing the second equation.
+         * @param x0         The initial value for x.
+         * @param y0         The initial value for y.
+         * @param iterations The number of iterations to perform.
+         * @return A list of lists containing the values of x and y at each iteration.
+         */
+        public static ArrayList<ArrayList<BigDecimal>> solve(ExpressionFunction fx, ExpressionFunction gx, BigDecimal x0, BigDecimal y0, int iterations) {
+            return solve(fx, fx.getPartialDerivative('x', 1), fx.getPartialDerivative('y', 1),
+                    gx, gx.getPartialDerivative('x', 1), gx.getPartialDerivative('y', 1), x0, y0, iterations);
+        }
     }
 }
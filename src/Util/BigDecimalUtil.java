@@ -62,6 +62,12 @@ public class BigDecimalUtil {
      */
     private static final int ROUNDING_MODE = BigDecimal.ROUND_HALF_EVEN;
 
+    /**
+     * A constant representing the value of pi (π) with 100 decimal places, the precision of {@link #context}.
+     */
+    public static final BigDecimal PI =
+            new BigDecimal("3.1415926535897932384626433832795028841971693993751058209749445923078164062862089986280348253421170679");
+
     /**
      * A constant representing the value of pi (π) divided by 180.
      * It is calculated as a {@link BigDecimal} with a scale of 32 using the HALF_UP rounding mode.
@@ -88,7 +94,7 @@ public class BigDecimalUtil {
     }
 
     /**
-     * Compute the square root of x to a given scale, x &gt;= 0. Use Newton's algorithm.
+     * Compute the square root of x to the scale of the current accuracy, x &gt;= 0. Use Newton's algorithm.
      *
      * @param x the value of x
      * @return the result value
@@ -99,26 +105,29 @@ public class BigDecimalUtil {
             throw new ArithmeticException("x < 0");
         }
 
-        // n = x*(10^(2*SCALE))
-        BigInteger n = x.movePointRight(SCALE << 1).toBigInteger();
+        // the scale of the current accuracy
+        int scale = Accuracy.getValue();
 
-        // The first approximation is the upper half of n.
-        int bits = (n.bitLength() + 1) >> 1;
-        BigInteger ix = n.shiftRight(bits);
-        BigInteger ixPrev;
+        // n = x*(10^(2*scale))
+        BigInteger n = x.movePointRight(scale << 1).toBigInteger();
+        if (n.signum() == 0)
+            return BigDecimal.ZERO.setScale(scale);
 
-        // Loop until the approximations converge
-        // (two successive approximations are equal after rounding).
-        do {
-            ixPrev = ix;
+        // The first approximation 2^ceil(bits/2) is not smaller than the root.
+        int bits = (n.bitLength() + 1) >> 1;
+        BigInteger ix = BigInteger.ONE.shiftLeft(bits);
 
+        // Loop while the approximations decrease, the last one being the floor of the root
+        // (comparing two successive approximations for equality may cycle between two values).
+        while (true) {
             // x = (x + n/x)/2
-            ix = ix.add(n.divide(ix)).shiftRight(1);
-
-            Thread.yield();
-        } while (ix.compareTo(ixPrev) != 0);
+            BigInteger next = ix.add(n.divide(ix)).shiftRight(1);
+            if (next.compareTo(ix) >= 0)
+                break;
+            ix = next;
+        }
 
-        return new BigDecimal(ix, SCALE);
+        return new BigDecimal(ix, scale);
     }
 
     /**
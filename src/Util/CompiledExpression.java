@@ -0,0 +1,1802 @@
+package Util;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * The CompiledExpression class represents a mathematical expression that has been parsed once into a
+ * precedence-resolved tree, so it can be evaluated many times without going back to the source text.
+ * <p>
+ * It understands the same grammar as {@link EvaluateString}: numbers, the constant {@code pi}, the variables
+ * {@code x} and {@code y}, the binary operators {@code + - * / ^}, parentheses and the functions
+ * {@code log, sqrt, exp, sin, cos, tan, asin, acos, atan, sinh, cosh, tanh}.
+ * The variables are kept as slots in the tree and are bound on each call to {@link #evaluate(BigDecimal, BigDecimal)}.
+ * </p>
+ * <p>
+ * The same tree can also be evaluated with primitive doubles through {@link #evaluateDouble(double, double)},
+ * which uses {@link Math} instead of the {@link BigDecimalUtil} series and is much faster
+ * whenever the required accuracy fits in a double.
+ * </p>
+ * <p>
+ * After {@link #jitCompile()} the tree is linked into a single {@link MethodHandle} chain per engine,
+ * which the JVM can inline as a whole instead of walking the tree node by node.
+ * If linking is not possible the tree interpreter keeps being used.
+ * </p>
+ * <p>
+ * Before evaluation the tree goes through an optimization pass : identical subtrees are merged,
+ * subtrees without variables (such as {@code exp(2*pi)}) are folded into a value computed once,
+ * and subtrees used more than once (such as {@code sin(x)} in {@code sin(x)^2+cos(x)*sin(x)}) are computed
+ * once per evaluation. The number of nodes the pass removed is reported by {@link #getEliminatedNodes()}.
+ * </p>
+ * <p>
+ * The parsed tree can be differentiated symbolically with {@link #derivative(char, int)}, which returns a new
+ * simplified CompiledExpression whose source text can be compiled again. Alternatively
+ * {@link #evaluateDual(BigDecimal)} evaluates the value with its first and second derivatives in one pass
+ * on {@link HyperDual} numbers.
+ * </p>
+ *
+ * <p>Usage Example:</p>
+ * <pre>{@code
+ * CompiledExpression exp = CompiledExpression.compile("sin(x)^2 + 3*x");
+ * BigDecimal res = exp.evaluate(new BigDecimal("1.5"));
+ * }</pre>
+ */
+@SuppressWarnings("all")
+public final class CompiledExpression {
+
+    /**
+     * The value substituted for the string {@code pi}, kept identical to the one used by {@link EvaluateString}
+     */
+    private static final BigDecimal PI = new BigDecimal(Double.toString(Math.PI));
+
+    /**
+     * The source text of the expression
+     */
+    private final String source;
+
+    /**
+     * The root of the parsed expression tree, as written in the source
+     */
+    private final Node tree;
+
+    /**
+     * The root of the optimized expression tree, the one that is evaluated
+     */
+    private final Node root;
+
+    /**
+     * The number of shared subexpressions, each evaluation keeps one slot per shared subexpression
+     */
+    private final int slots;
+
+    /**
+     * The number of nodes of the parsed tree
+     */
+    private final int nodeCount;
+
+    /**
+     * The number of nodes evaluated by the optimized tree
+     */
+    private final int optimizedNodeCount;
+
+    /**
+     * The number of temporary arrays needed by a batch evaluation
+     */
+    private final int temps;
+
+    /**
+     * The BigDecimal (frame) -&gt; value handle linked by {@link #jitCompile()}, or null while interpreting
+     */
+    private volatile MethodHandle handle;
+
+    /**
+     * The double (frame) -&gt; value handle linked by {@link #jitCompile()}, or null while interpreting
+     */
+    private volatile MethodHandle doubleHandle;
+
+    /**
+     * Constructs a CompiledExpression from its source text and parsed tree, and optimizes the tree.
+     *
+     * @param source The source text of the expression.
+     * @param tree   The root of the parsed expression tree.
+     */
+    private CompiledExpression(String source, Node tree) {
+        this.source = source;
+        this.tree = tree;
+        Optimizer optimizer = new Optimizer();
+        this.root = optimizer.optimize(tree);
+        this.slots = optimizer.slots;
+        this.nodeCount = Optimizer.size(tree);
+        this.optimizedNodeCount = optimizer.nodes;
+        this.temps = optimizer.temps;
+    }
+
+    /**
+     * Parses the given expression into a CompiledExpression.
+     *
+     * @param expression The mathematical expression to parse.
+     * @return The compiled expression.
+     * @throws NullPointerException     If the expression is null.
+     * @throws IllegalArgumentException If the expression is not well-formed.
+     */
+    public static CompiledExpression compile(String expression) {
+        Objects.requireNonNull(expression, "expression cannot be null");
+        Parser parser = new Parser(expression.replaceAll("\\s", ""));
+        Node root = parser.parse();
+        return new CompiledExpression(expression, root);
+    }
+
+    /**
+     * Evaluates the expression with the given value of x.
+     *
+     * @param x The value to evaluate with instead of 'x'.
+     * @return The result of the evaluation.
+     * @throws ArithmeticException If the expression uses 'y'.
+     */
+    public BigDecimal evaluate(BigDecimal x) {
+        return evaluate(x, null);
+    }
+
+    /**
+     * Evaluates the expression with the given values of x and y.
+     *
+     * @param x The value to evaluate with instead of 'x'.
+     * @param y The value to evaluate with instead of 'y'.
+     * @return The result of the evaluation.
+     */
+    public BigDecimal evaluate(BigDecimal x, BigDecimal y) {
+        Frame frame = new Frame(x, y, slots);
+        MethodHandle mh = handle;
+        if (mh == null)
+            return root.eval(frame);
+        try {
+            return (BigDecimal) mh.invokeExact(frame);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new ArithmeticException(e.getMessage());
+        }
+    }
+
+    /**
+     * Evaluates the expression with the given value of x using double arithmetic.
+     *
+     * @param x The value to evaluate with instead of 'x'.
+     * @return The result of the evaluation, 'y' evaluates to NaN.
+     */
+    public double evaluateDouble(double x) {
+        return evaluateDouble(x, Double.NaN);
+    }
+
+    /**
+     * Evaluates the expression with the given values of x and y using double arithmetic.
+     *
+     * @param x The value to evaluate with instead of 'x'.
+     * @param y The value to evaluate with instead of 'y'.
+     * @return The result of the evaluation.
+     */
+    public double evaluateDouble(double x, double y) {
+        Frame frame = new Frame(x, y, slots);
+        MethodHandle mh = doubleHandle;
+        if (mh == null)
+            return root.evalDouble(frame);
+        try {
+            return (double) mh.invokeExact(frame);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new ArithmeticException(e.getMessage());
+        }
+    }
+
+    /**
+     * Evaluates the expression and its first and second derivatives with respect to x in one pass,
+     * using forward mode automatic differentiation.
+     *
+     * @param x The value to evaluate with instead of 'x'.
+     * @return The value of the expression with its first and second derivatives.
+     * @throws ArithmeticException If the expression uses 'y'.
+     */
+    public HyperDual evaluateDual(BigDecimal x) {
+        return evaluateDual(HyperDual.variable(x), null);
+    }
+
+    /**
+     * Evaluates the expression on HyperDual values of x and y in one pass.
+     * Seeding x with {@link HyperDual#variable(BigDecimal)} and y with {@link HyperDual#constant(BigDecimal)}
+     * gives the derivatives with respect to x, and the other way around gives the derivatives with respect to y.
+     *
+     * @param x The value to evaluate with instead of 'x', with its derivatives.
+     * @param y The value to evaluate with instead of 'y', with its derivatives, or null if it is not bound.
+     * @return The value of the expression with its first and second derivatives.
+     */
+    public HyperDual evaluateDual(HyperDual x, HyperDual y) {
+        return root.evalDual(new Frame(x, y, slots));
+    }
+
+    /**
+     * Evaluates the expression with double arithmetic for every value of xs, writing the results into out.
+     *
+     * @param xs  The values to evaluate with instead of 'x'.
+     * @param out The array receiving the results, out[i] being the value at xs[i].
+     * @throws IllegalArgumentException If out is shorter than xs.
+     * @see #evaluateDouble(double[], double[], double[])
+     */
+    public void evaluateDouble(double[] xs, double[] out) {
+        evaluateDouble(xs, null, out);
+    }
+
+    /**
+     * Evaluates the expression with double arithmetic for every pair (xs[i], ys[i]), writing the results into out.
+     * <p>
+     * The points are processed in chunks, each node of the expression running one tight loop over a chunk,
+     * so the JIT can unroll and vectorize the arithmetic and the calls on the tree are paid once per chunk instead of once per point.
+     * Only small work arrays depending on the shape of the expression are allocated, the results go directly into out.
+     * </p>
+     *
+     * @param xs  The values to evaluate with instead of 'x'.
+     * @param ys  The values to evaluate with instead of 'y', or null to evaluate 'y' to NaN.
+     * @param out The array receiving the results, out[i] being the value at (xs[i], ys[i]).
+     * @throws IllegalArgumentException If ys or out is shorter than xs.
+     */
+    public void evaluateDouble(double[] xs, double[] ys, double[] out) {
+        Objects.requireNonNull(xs, "xs cannot be null");
+        Objects.requireNonNull(out, "out cannot be null");
+        if (ys != null && ys.length < xs.length)
+            throw new IllegalArgumentException("ys is shorter than xs");
+        if (out.length < xs.length)
+            throw new IllegalArgumentException("out is shorter than xs");
+        Batch batch = new Batch(xs, ys, temps + 1, slots);
+        double[] chunk = batch.push();
+        for (int offset = 0; offset < xs.length; offset += Batch.CHUNK) {
+            int n = Math.min(Batch.CHUNK, xs.length - offset);
+            batch.moveTo(offset);
+            root.evalDouble(batch, chunk, n);
+            System.arraycopy(chunk, 0, out, offset, n);
+        }
+    }
+
+    /**
+     * Evaluates the expression for every value of xs, writing the results into out.
+     *
+     * @param xs  The values to evaluate with instead of 'x'.
+     * @param out The array receiving the results, out[i] being the value at xs[i].
+     * @throws IllegalArgumentException If out is shorter than xs.
+     * @throws ArithmeticException      If the expression uses 'y'.
+     */
+    public void evaluate(BigDecimal[] xs, BigDecimal[] out) {
+        evaluate(xs, null, out);
+    }
+
+    /**
+     * Evaluates the expression for every pair (xs[i], ys[i]), writing the results into out.
+     * Folded constants are computed once for the whole batch.
+     *
+     * @param xs  The values to evaluate with instead of 'x'.
+     * @param ys  The values to evaluate with instead of 'y', or null if it is not bound.
+     * @param out The array receiving the results, out[i] being the value at (xs[i], ys[i]).
+     * @throws IllegalArgumentException If ys or out is shorter than xs.
+     */
+    public void evaluate(BigDecimal[] xs, BigDecimal[] ys, BigDecimal[] out) {
+        Objects.requireNonNull(xs, "xs cannot be null");
+        Objects.requireNonNull(out, "out cannot be null");
+        if (ys != null && ys.length < xs.length)
+            throw new IllegalArgumentException("ys is shorter than xs");
+        if (out.length < xs.length)
+            throw new IllegalArgumentException("out is shorter than xs");
+        for (int i = 0; i < xs.length; i++)
+            out[i] = evaluate(xs[i], ys == null ? null : ys[i]);
+    }
+
+    /**
+     * Links the optimized expression tree into {@link MethodHandle} chains for both the BigDecimal and the double engines.
+     * Later evaluations go through the linked handles; if linking fails the tree interpreter is kept.
+     *
+     * @return True if the expression was linked, false if it keeps being interpreted.
+     */
+    public boolean jitCompile() {
+        if (handle != null && doubleHandle != null)
+            return true;
+        try {
+            MethodHandle mh = root.toHandle(false);
+            MethodHandle dmh = root.toHandle(true);
+            handle = mh;
+            doubleHandle = dmh;
+            return true;
+        } catch (ReflectiveOperationException | RuntimeException | StackOverflowError e) {
+            return false;
+        }
+    }
+
+    /**
+     * Checks if the expression is evaluated through linked {@link MethodHandle} chains.
+     *
+     * @return True if {@link #jitCompile()} succeeded, false otherwise.
+     */
+    public boolean isJitCompiled() {
+        return handle != null && doubleHandle != null;
+    }
+
+    /**
+     * Returns the partial derivative of the expression with respect to the given variable.
+     *
+     * @param variable The variable to differentiate with respect to, 'x' or 'y'.
+     * @return The simplified derivative.
+     * @throws IllegalArgumentException If the variable is neither 'x' nor 'y'.
+     */
+    public CompiledExpression derivative(char variable) {
+        return derivative(variable, 1);
+    }
+
+    /**
+     * Returns the partial derivative of the given rank of the expression with respect to the given variable.
+     * The derivative is built on the parsed tree with the usual rules and simplified while it is built,
+     * so for example the derivative of {@code x^3} is {@code (3*(x^2))}.
+     *
+     * @param variable The variable to differentiate with respect to, 'x' or 'y'.
+     * @param rank     The rank of the derivative, 0 returning this expression.
+     * @return The simplified derivative.
+     * @throws IllegalArgumentException If the variable is neither 'x' nor 'y' or the rank is negative.
+     */
+    public CompiledExpression derivative(char variable, int rank) {
+        if (variable != 'x' && variable != 'y')
+            throw new IllegalArgumentException("unknown variable : " + variable);
+        if (rank < 0)
+            throw new IllegalArgumentException("rank cannot be negative");
+        Node node = tree;
+        for (int i = 0; i < rank; i++)
+            node = Differentiator.derive(node, variable);
+        return node == tree ? this : new CompiledExpression(node.toString(), node);
+    }
+
+    /**
+     * Returns the derivative with respect to x of this expression g(x, y) along the solutions of y' = slope(x, y),
+     * that is {@code g_x + g_y * slope}. Applied repeatedly on the slope it gives the higher derivatives of y.
+     *
+     * @param slope The expression of y' in terms of x and y.
+     * @return The simplified total derivative.
+     */
+    public CompiledExpression totalDerivative(CompiledExpression slope) {
+        Objects.requireNonNull(slope, "slope cannot be null");
+        Node node = Differentiator.add(
+                Differentiator.derive(tree, 'x'),
+                Differentiator.mul(Differentiator.derive(tree, 'y'), slope.tree));
+        return new CompiledExpression(node.toString(), node);
+    }
+
+    /**
+     * Returns the number of nodes of the parsed tree, before optimization.
+     *
+     * @return The number of parsed nodes.
+     */
+    public int getNodeCount() {
+        return nodeCount;
+    }
+
+    /**
+     * Returns the number of nodes removed by the optimization pass, that is the parsed nodes
+     * that are no longer evaluated on each call because they were folded into a constant or
+     * merged with an identical subtree.
+     *
+     * @return The number of eliminated nodes.
+     */
+    public int getEliminatedNodes() {
+        return nodeCount - optimizedNodeCount;
+    }
+
+    /**
+     * Returns the source text the expression was compiled from.
+     *
+     * @return The source text of the expression.
+     */
+    public String getSource() {
+        return source;
+    }
+
+    /**
+     * Returns the string representation of the parsed tree, fully parenthesized.
+     *
+     * @return The string representation of the parsed tree.
+     */
+    @Override
+    public String toString() {
+        return tree.toString();
+    }
+
+    /**
+     * The Operator enum lists every operator and function of the expression grammar,
+     * together with the way it is applied on BigDecimal operands.
+     */
+    enum Operator {
+        ADD("+", 2), SUB("-", 2), MUL("*", 2), DIV("/", 2), POW("^", 2), NEG("-", 1),
+        LOG("log", 1), SQRT("sqrt", 1), EXP("exp", 1),
+        SIN("sin", 1), COS("cos", 1), TAN("tan", 1),
+        ASIN("asin", 1), ACOS("acos", 1), ATAN("atan", 1),
+        SINH("sinh", 1), COSH("cosh", 1), TANH("tanh", 1);
+
+        /**
+         * The functions of the grammar, longest names first so that e.g. 'sinh' is matched before 'sin'
+         */
+        static final Operator[] FUNCTIONS = {ASIN, ACOS, ATAN, SINH, COSH, TANH, SQRT, LOG, EXP, SIN, COS, TAN};
+
+        final String symbol;
+        final int arity;
+
+        Operator(String symbol, int arity) {
+            this.symbol = symbol;
+            this.arity = arity;
+        }
+
+        /**
+         * Returns the binary operator or function having the given symbol.
+         *
+         * @param symbol The symbol of the operator.
+         * @return The matching operator.
+         * @throws IllegalArgumentException If there is no such operator.
+         */
+        static Operator of(String symbol) {
+            for (Operator op : values())
+                if (op != NEG && op.symbol.equals(symbol))
+                    return op;
+            throw new IllegalArgumentException("unknown operator : " + symbol);
+        }
+
+        /**
+         * Applies the operator on operands a and b and returns the result.
+         * Functions and unary operators only use a.
+         *
+         * @param a The first operand.
+         * @param b The second operand, ignored by functions.
+         * @return The result of applying the operator on operands a and b.
+         * @throws UnsupportedOperationException If division by zero is encountered.
+         */
+        BigDecimal apply(BigDecimal a, BigDecimal b) {
+            switch (this) {
+                case ADD:
+                    return a.add(b);
+                case SUB:
+                    return a.subtract(b);
+                case MUL:
+                    return a.multiply(b);
+                case DIV:
+                    if (b.compareTo(new BigDecimal(0)) == 0)
+                        throw new UnsupportedOperationException("Cannot divide by zero");
+                    return a.divide(b, Accuracy.getValue(), RoundingMode.HALF_UP);
+                case POW:
+                    return BigDecimalUtil.pow(a, b);
+                case NEG:
+                    return a.negate();
+                case LOG:
+                    return BigDecimalUtil.ln(a, Accuracy.getValue());
+                case SQRT:
+                    return BigDecimalUtil.sqrt(a);
+                case EXP:
+                    return BigDecimalUtil.exp(a, Accuracy.getValue());
+                case SIN:
+                    return BigDecimalUtil.sine(a);
+                case COS:
+                    return BigDecimalUtil.cosine(a);
+                case TAN:
+                    return BigDecimalUtil.tangent(a);
+                case ASIN:
+                    return BigDecimalUtil.asin(a);
+                case ACOS:
+                    return BigDecimalUtil.acos(a);
+                case ATAN:
+                    return BigDecimalUtil.atan(a);
+                case SINH:
+                    return BigDecimalUtil.sinh(a);
+                case COSH:
+                    return BigDecimalUtil.cosh(a);
+                case TANH:
+                    return BigDecimalUtil.tanh(a);
+            }
+            return new BigDecimal(0);
+        }
+
+        /**
+         * Applies the operator on double operands a and b and returns the result.
+         * Functions and unary operators only use a.
+         *
+         * @param a The first operand.
+         * @param b The second operand, ignored by functions.
+         * @return The result of applying the operator on operands a and b.
+         * @throws UnsupportedOperationException If division by zero is encountered.
+         */
+        double apply(double a, double b) {
+            switch (this) {
+                case ADD:
+                    return a + b;
+                case SUB:
+                    return a - b;
+                case MUL:
+                    return a * b;
+                case DIV:
+                    if (b == 0)
+                        throw new UnsupportedOperationException("Cannot divide by zero");
+                    return a / b;
+                case POW:
+                    return Math.pow(a, b);
+                case NEG:
+                    return -a;
+                case LOG:
+                    return Math.log(a);
+                case SQRT:
+                    return Math.sqrt(a);
+                case EXP:
+                    return Math.exp(a);
+                case SIN:
+                    return Math.sin(a);
+                case COS:
+                    return Math.cos(a);
+                case TAN:
+                    return Math.tan(a);
+                case ASIN:
+                    return Math.asin(a);
+                case ACOS:
+                    return Math.acos(a);
+                case ATAN:
+                    return Math.atan(a);
+                case SINH:
+                    return Math.sinh(a);
+                case COSH:
+                    return Math.cosh(a);
+                case TANH:
+                    return Math.tanh(a);
+            }
+            return 0;
+        }
+
+        /**
+         * Applies the operator on HyperDual operands a and b, carrying the first and second derivatives along.
+         * Functions and unary operators only use a.
+         *
+         * @param a The first operand.
+         * @param b The second operand, ignored by functions.
+         * @return The result of applying the operator on operands a and b, with its derivatives.
+         * @throws UnsupportedOperationException If division by zero is encountered.
+         */
+        HyperDual apply(HyperDual a, HyperDual b) {
+            switch (this) {
+                case ADD:
+                    return a.add(b);
+                case SUB:
+                    return a.subtract(b);
+                case MUL:
+                    return a.multiply(b);
+                case DIV:
+                    return a.divide(b);
+                case NEG:
+                    return a.negate();
+                case POW:
+                    if (b.isConstant()) {
+                        // power rule : (a^n)' = n a^(n-1) a', (a^n)'' = n (n-1) a^(n-2) a'^2 + n a^(n-1) a''
+                        BigDecimal n = b.getValue();
+                        BigDecimal p = apply(a.getValue(), n);
+                        if (a.isConstant())
+                            return HyperDual.constant(p);
+                        BigDecimal n1 = n.subtract(BigDecimal.ONE);
+                        BigDecimal dp = n.multiply(BigDecimalUtil.pow(a.getValue(), n1));
+                        BigDecimal d2p = n.multiply(n1).multiply(BigDecimalUtil.pow(a.getValue(), n1.subtract(BigDecimal.ONE)));
+                        return a.chain(p, dp, d2p);
+                    }
+                    // a^b = exp(b ln(a))
+                    return EXP.apply(b.multiply(LOG.apply(a, null)), null);
+            }
+            BigDecimal v = a.getValue();
+            BigDecimal g = apply(v, null);
+            if (a.isConstant())
+                return HyperDual.constant(g);
+            BigDecimal one = BigDecimal.ONE, two = BigDecimal.valueOf(2);
+            BigDecimal dg, d2g;
+            switch (this) {
+                case LOG:
+                    dg = HyperDual.div(one, v);
+                    d2g = dg.multiply(dg).negate();
+                    break;
+                case SQRT:
+                    dg = HyperDual.div(one, two.multiply(g));
+                    d2g = HyperDual.div(dg, two.multiply(v)).negate();
+                    break;
+                case EXP:
+                    dg = g;
+                    d2g = g;
+                    break;
+                case SIN:
+                    dg = BigDecimalUtil.cosine(v);
+                    d2g = g.negate();
+                    break;
+                case COS:
+                    dg = BigDecimalUtil.sine(v).negate();
+                    d2g = g.negate();
+                    break;
+                case TAN:
+                    dg = one.add(g.multiply(g));
+                    d2g = two.multiply(g).multiply(dg);
+                    break;
+                case ASIN:
+                    dg = HyperDual.div(one, BigDecimalUtil.sqrt(one.subtract(v.multiply(v))));
+                    d2g = v.multiply(dg.pow(3));
+                    break;
+                case ACOS:
+                    dg = HyperDual.div(one, BigDecimalUtil.sqrt(one.subtract(v.multiply(v)))).negate();
+                    d2g = v.multiply(dg.pow(3));
+                    break;
+                case ATAN:
+                    dg = HyperDual.div(one, one.add(v.multiply(v)));
+                    d2g = two.multiply(v).multiply(dg).multiply(dg).negate();
+                    break;
+                case SINH:
+                    dg = BigDecimalUtil.cosh(v);
+                    d2g = g;
+                    break;
+                case COSH:
+                    dg = BigDecimalUtil.sinh(v);
+                    d2g = g;
+                    break;
+                case TANH:
+                    dg = one.subtract(g.multiply(g));
+                    d2g = two.multiply(g).multiply(dg).negate();
+                    break;
+                default:
+                    throw new IllegalStateException("no derivative for " + this);
+            }
+            return a.chain(g, dg, d2g);
+        }
+
+        /**
+         * Applies the operator element wise on the first n values of a and b, writing the results into a.
+         * Functions and unary operators only use a. Each operator has its own loop without calls,
+         * so the JIT can unroll and vectorize the arithmetic ones.
+         *
+         * @param a The first operands, replaced by the results.
+         * @param b The second operands, ignored by functions.
+         * @param n The number of values to process.
+         * @throws UnsupportedOperationException If division by zero is encountered.
+         */
+        void apply(double[] a, double[] b, int n) {
+            switch (this) {
+                case ADD:
+                    for (int i = 0; i < n; i++) a[i] += b[i];
+                    return;
+                case SUB:
+                    for (int i = 0; i < n; i++) a[i] -= b[i];
+                    return;
+                case MUL:
+                    for (int i = 0; i < n; i++) a[i] *= b[i];
+                    return;
+                case DIV:
+                    for (int i = 0; i < n; i++)
+                        if (b[i] == 0)
+                            throw new UnsupportedOperationException("Cannot divide by zero");
+                    for (int i = 0; i < n; i++) a[i] /= b[i];
+                    return;
+                case POW:
+                    for (int i = 0; i < n; i++) a[i] = Math.pow(a[i], b[i]);
+                    return;
+            }
+            apply(a, n);
+        }
+
+        /**
+         * Applies the operator element wise on the first n values of a and the scalar b, writing the results into a.
+         *
+         * @param a The first operands, replaced by the results.
+         * @param b The second operand, ignored by functions.
+         * @param n The number of values to process.
+         * @throws UnsupportedOperationException If division by zero is encountered.
+         */
+        void apply(double[] a, double b, int n) {
+            switch (this) {
+                case ADD:
+                    for (int i = 0; i < n; i++) a[i] += b;
+                    return;
+                case SUB:
+                    for (int i = 0; i < n; i++) a[i] -= b;
+                    return;
+                case MUL:
+                    for (int i = 0; i < n; i++) a[i] *= b;
+                    return;
+                case DIV:
+                    if (b == 0 && n > 0)
+                        throw new UnsupportedOperationException("Cannot divide by zero");
+                    for (int i = 0; i < n; i++) a[i] /= b;
+                    return;
+                case POW:
+                    for (int i = 0; i < n; i++) a[i] = Math.pow(a[i], b);
+                    return;
+            }
+            apply(a, n);
+        }
+
+        /**
+         * Applies the function or unary operator element wise on the first n values of a, writing the results into a.
+         *
+         * @param a The operands, replaced by the results.
+         * @param n The number of values to process.
+         */
+        void apply(double[] a, int n) {
+            switch (this) {
+                case NEG:
+                    for (int i = 0; i < n; i++) a[i] = -a[i];
+                    return;
+                case LOG:
+                    for (int i = 0; i < n; i++) a[i] = Math.log(a[i]);
+                    return;
+                case SQRT:
+                    for (int i = 0; i < n; i++) a[i] = Math.sqrt(a[i]);
+                    return;
+                case EXP:
+                    for (int i = 0; i < n; i++) a[i] = Math.exp(a[i]);
+                    return;
+                case SIN:
+                    for (int i = 0; i < n; i++) a[i] = Math.sin(a[i]);
+                    return;
+                case COS:
+                    for (int i = 0; i < n; i++) a[i] = Math.cos(a[i]);
+                    return;
+                case TAN:
+                    for (int i = 0; i < n; i++) a[i] = Math.tan(a[i]);
+                    return;
+                case ASIN:
+                    for (int i = 0; i < n; i++) a[i] = Math.asin(a[i]);
+                    return;
+                case ACOS:
+                    for (int i = 0; i < n; i++) a[i] = Math.acos(a[i]);
+                    return;
+                case ATAN:
+                    for (int i = 0; i < n; i++) a[i] = Math.atan(a[i]);
+                    return;
+                case SINH:
+                    for (int i = 0; i < n; i++) a[i] = Math.sinh(a[i]);
+                    return;
+                case COSH:
+                    for (int i = 0; i < n; i++) a[i] = Math.cosh(a[i]);
+                    return;
+                case TANH:
+                    for (int i = 0; i < n; i++) a[i] = Math.tanh(a[i]);
+                    return;
+            }
+        }
+
+        /**
+         * Returns a handle applying this operator, bound to this constant so the JVM can fold the dispatch.
+         * Binary operators take (a, b) and functions take (a).
+         *
+         * @param primitive True for the double engine, false for the BigDecimal engine.
+         * @return The handle applying this operator.
+         * @throws ReflectiveOperationException If the apply method cannot be looked up.
+         */
+        MethodHandle toHandle(boolean primitive) throws ReflectiveOperationException {
+            Class<?> type = primitive ? double.class : BigDecimal.class;
+            MethodHandle mh = MethodHandles.lookup()
+                    .findVirtual(Operator.class, "apply", MethodType.methodType(type, type, type))
+                    .bindTo(this);
+            if (arity == 1)
+                mh = MethodHandles.insertArguments(mh, 1, primitive ? (Object) 0.0 : null);
+            return mh;
+        }
+    }
+
+    /**
+     * The Frame class holds the state of one evaluation : the values of the variables, and the values of the
+     * shared subexpressions already computed during this evaluation. A new frame is used on every call,
+     * so the same expression can be evaluated from several threads at once.
+     */
+    static final class Frame {
+        final BigDecimal x;
+        final BigDecimal y;
+        final double dx;
+        final double dy;
+        final HyperDual dualX;
+        final HyperDual dualY;
+        private final BigDecimal[] values;
+        private final double[] doubleValues;
+        private final HyperDual[] dualValues;
+        private final boolean[] computed;
+
+        /**
+         * Constructs a frame for the BigDecimal engine.
+         *
+         * @param x     The value of 'x'.
+         * @param y     The value of 'y', or null if it is not bound.
+         * @param slots The number of shared subexpressions.
+         */
+        Frame(BigDecimal x, BigDecimal y, int slots) {
+            this.x = x;
+            this.y = y;
+            this.dx = 0;
+            this.dy = 0;
+            this.dualX = null;
+            this.dualY = null;
+            this.values = new BigDecimal[slots];
+            this.doubleValues = null;
+            this.dualValues = null;
+            this.computed = new boolean[slots];
+        }
+
+        /**
+         * Constructs a frame for the double engine.
+         *
+         * @param x     The value of 'x'.
+         * @param y     The value of 'y'.
+         * @param slots The number of shared subexpressions.
+         */
+        Frame(double x, double y, int slots) {
+            this.x = null;
+            this.y = null;
+            this.dx = x;
+            this.dy = y;
+            this.dualX = null;
+            this.dualY = null;
+            this.values = null;
+            this.doubleValues = new double[slots];
+            this.dualValues = null;
+            this.computed = new boolean[slots];
+        }
+
+        /**
+         * Constructs a frame for HyperDual evaluation.
+         *
+         * @param x     The value of 'x' with its derivatives.
+         * @param y     The value of 'y' with its derivatives, or null if it is not bound.
+         * @param slots The number of shared subexpressions.
+         */
+        Frame(HyperDual x, HyperDual y, int slots) {
+            this.x = null;
+            this.y = null;
+            this.dx = 0;
+            this.dy = 0;
+            this.dualX = x;
+            this.dualY = y;
+            this.values = null;
+            this.doubleValues = null;
+            this.dualValues = new HyperDual[slots];
+            this.computed = new boolean[slots];
+        }
+
+        boolean isComputed(int slot) {
+            return computed[slot];
+        }
+
+        BigDecimal load(int slot) {
+            return values[slot];
+        }
+
+        double loadDouble(int slot) {
+            return doubleValues[slot];
+        }
+
+        BigDecimal store(int slot, BigDecimal value) {
+            values[slot] = value;
+            computed[slot] = true;
+            return value;
+        }
+
+        double storeDouble(int slot, double value) {
+            doubleValues[slot] = value;
+            computed[slot] = true;
+            return value;
+        }
+
+        HyperDual loadDual(int slot) {
+            return dualValues[slot];
+        }
+
+        HyperDual storeDual(int slot, HyperDual value) {
+            dualValues[slot] = value;
+            computed[slot] = true;
+            return value;
+        }
+    }
+
+    /**
+     * The Batch class holds the state of one batch evaluation with the double engine.
+     * The points are evaluated in chunks of {@link #CHUNK} values, each node running one loop over the chunk,
+     * so the work arrays only depend on the shape of the expression and not on the number of points.
+     */
+    static final class Batch {
+        /**
+         * The number of points evaluated together
+         */
+        static final int CHUNK = 256;
+
+        final double[] xs;
+        final double[] ys;
+
+        /**
+         * The index in xs and ys of the first point of the current chunk
+         */
+        int offset;
+
+        private final double[][] temps;
+        private int top;
+        private final double[][] values;
+        private final boolean[] computed;
+
+        /**
+         * Constructs a batch over the given variable values.
+         *
+         * @param xs    The values of 'x'.
+         * @param ys    The values of 'y', or null if it is not bound.
+         * @param temps The number of temporary arrays needed by the expression.
+         * @param slots The number of shared subexpressions.
+         */
+        Batch(double[] xs, double[] ys, int temps, int slots) {
+            this.xs = xs;
+            this.ys = ys;
+            this.temps = new double[temps][CHUNK];
+            this.values = new double[slots][CHUNK];
+            this.computed = new boolean[slots];
+        }
+
+        /**
+         * Moves to the chunk starting at the given index, forgetting the shared values of the previous chunk.
+         *
+         * @param offset The index of the first point of the chunk.
+         */
+        void moveTo(int offset) {
+            this.offset = offset;
+            Arrays.fill(computed, false);
+        }
+
+        double[] push() {
+            return temps[top++];
+        }
+
+        void pop() {
+            top--;
+        }
+    }
+
+    /**
+     * The Node class is the base of the expression tree.
+     */
+    private abstract static class Node {
+        /**
+         * Evaluates this node with the variable values of the given frame.
+         *
+         * @param frame The frame of the current evaluation.
+         * @return The value of this node.
+         */
+        abstract BigDecimal eval(Frame frame);
+
+        /**
+         * Evaluates this node with the variable values of the given frame using double arithmetic.
+         *
+         * @param frame The frame of the current evaluation.
+         * @return The value of this node.
+         */
+        abstract double evalDouble(Frame frame);
+
+        /**
+         * Evaluates this node with the HyperDual variable values of the given frame.
+         *
+         * @param frame The frame of the current evaluation.
+         * @return The value of this node with its first and second derivatives.
+         */
+        abstract HyperDual evalDual(Frame frame);
+
+        /**
+         * Links this node into a (frame) -&gt; value handle.
+         *
+         * @param primitive True for the double engine, false for the BigDecimal engine.
+         * @return The handle evaluating this node.
+         * @throws ReflectiveOperationException If a method cannot be looked up.
+         */
+        abstract MethodHandle toHandle(boolean primitive) throws ReflectiveOperationException;
+
+        /**
+         * Evaluates this node on the current chunk of the batch using double arithmetic.
+         *
+         * @param batch The batch being evaluated.
+         * @param out   The array receiving the values, from index 0.
+         * @param n     The number of values in the current chunk.
+         */
+        abstract void evalDouble(Batch batch, double[] out, int n);
+    }
+
+    /**
+     * A constant number in the expression.
+     */
+    private static final class Constant extends Node {
+        private final BigDecimal value;
+        private final double doubleValue;
+
+        Constant(BigDecimal value) {
+            this.value = value;
+            this.doubleValue = value.doubleValue();
+        }
+
+        @Override
+        BigDecimal eval(Frame frame) {
+            return value;
+        }
+
+        @Override
+        double evalDouble(Frame frame) {
+            return doubleValue;
+        }
+
+        @Override
+        HyperDual evalDual(Frame frame) {
+            return HyperDual.constant(value);
+        }
+
+        @Override
+        MethodHandle toHandle(boolean primitive) {
+            Class<?> type = primitive ? double.class : BigDecimal.class;
+            MethodHandle mh = MethodHandles.constant(type, primitive ? (Object) doubleValue : value);
+            return MethodHandles.dropArguments(mh, 0, Frame.class);
+        }
+
+        @Override
+        void evalDouble(Batch batch, double[] out, int n) {
+            Arrays.fill(out, 0, n, doubleValue);
+        }
+
+        @Override
+        public String toString() {
+            return value.signum() < 0 ? "(" + value.toPlainString() + ")" : value.toPlainString();
+        }
+    }
+
+    /**
+     * A variable slot ('x' or 'y') in the expression.
+     */
+    private static final class Variable extends Node {
+        private final char name;
+
+        Variable(char name) {
+            this.name = name;
+        }
+
+        @Override
+        BigDecimal eval(Frame frame) {
+            BigDecimal value = name == 'x' ? frame.x : frame.y;
+            if (value == null)
+                throw new ArithmeticException("invalid inputs : " + name + " is not given");
+            return value;
+        }
+
+        @Override
+        double evalDouble(Frame frame) {
+            return name == 'x' ? frame.dx : frame.dy;
+        }
+
+        @Override
+        HyperDual evalDual(Frame frame) {
+            HyperDual value = name == 'x' ? frame.dualX : frame.dualY;
+            if (value == null)
+                throw new ArithmeticException("invalid inputs : " + name + " is not given");
+            return value;
+        }
+
+        @Override
+        MethodHandle toHandle(boolean primitive) throws ReflectiveOperationException {
+            if (!primitive) {
+                // keep the unbound variable check of eval
+                return MethodHandles.lookup()
+                        .findVirtual(Variable.class, "eval", MethodType.methodType(BigDecimal.class, Frame.class))
+                        .bindTo(this);
+            }
+            return MethodHandles.lookup().findGetter(Frame.class, name == 'x' ? "dx" : "dy", double.class);
+        }
+
+        @Override
+        void evalDouble(Batch batch, double[] out, int n) {
+            double[] values = name == 'x' ? batch.xs : batch.ys;
+            if (values == null)
+                Arrays.fill(out, 0, n, Double.NaN);
+            else
+                System.arraycopy(values, batch.offset, out, 0, n);
+        }
+
+        @Override
+        public String toString() {
+            return String.valueOf(name);
+        }
+    }
+
+    /**
+     * A function or unary operator applied on one operand.
+     */
+    private static final class Unary extends Node {
+        private final Operator op;
+        private final Node operand;
+
+        Unary(Operator op, Node operand) {
+            this.op = op;
+            this.operand = operand;
+        }
+
+        @Override
+        BigDecimal eval(Frame frame) {
+            return op.apply(operand.eval(frame), null);
+        }
+
+        @Override
+        double evalDouble(Frame frame) {
+            return op.apply(operand.evalDouble(frame), 0);
+        }
+
+        @Override
+        HyperDual evalDual(Frame frame) {
+            return op.apply(operand.evalDual(frame), null);
+        }
+
+        @Override
+        MethodHandle toHandle(boolean primitive) throws ReflectiveOperationException {
+            return MethodHandles.filterReturnValue(operand.toHandle(primitive), op.toHandle(primitive));
+        }
+
+        @Override
+        void evalDouble(Batch batch, double[] out, int n) {
+            operand.evalDouble(batch, out, n);
+            op.apply(out, n);
+        }
+
+        @Override
+        public String toString() {
+            return op == Operator.NEG ? "(-" + operand + ")" : op.symbol + "(" + operand + ")";
+        }
+    }
+
+    /**
+     * A binary operator applied on two operands.
+     */
+    private static final class Binary extends Node {
+        private final Operator op;
+        private final Node left;
+        private final Node right;
+
+        Binary(Operator op, Node left, Node right) {
+            this.op = op;
+            this.left = left;
+            this.right = right;
+        }
+
+        @Override
+        BigDecimal eval(Frame frame) {
+            return op.apply(left.eval(frame), right.eval(frame));
+        }
+
+        @Override
+        double evalDouble(Frame frame) {
+            return op.apply(left.evalDouble(frame), right.evalDouble(frame));
+        }
+
+        @Override
+        HyperDual evalDual(Frame frame) {
+            return op.apply(left.evalDual(frame), right.evalDual(frame));
+        }
+
+        @Override
+        MethodHandle toHandle(boolean primitive) throws ReflectiveOperationException {
+            Class<?> type = primitive ? double.class : BigDecimal.class;
+            // op(left(frame), b) -> op(left(frame), right(frame)) -> merge the duplicated frame parameters
+            MethodHandle mh = MethodHandles.collectArguments(op.toHandle(primitive), 0, left.toHandle(primitive));
+            mh = MethodHandles.collectArguments(mh, 1, right.toHandle(primitive));
+            return MethodHandles.permuteArguments(mh, MethodType.methodType(type, Frame.class), 0, 0);
+        }
+
+        @Override
+        void evalDouble(Batch batch, double[] out, int n) {
+            left.evalDouble(batch, out, n);
+            // a constant right operand needs no temporary array
+            if (right instanceof Constant || right instanceof Folded) {
+                op.apply(out, right.evalDouble(null), n);
+                return;
+            }
+            double[] temp = batch.push();
+            try {
+                right.evalDouble(batch, temp, n);
+                op.apply(out, temp, n);
+            } finally {
+                batch.pop();
+            }
+        }
+
+        @Override
+        public String toString() {
+            return "(" + left + op.symbol + right + ")";
+        }
+    }
+
+    /**
+     * A subtree without variables, computed on first use and then reused.
+     * The BigDecimal value depends on the {@link Accuracy} it was computed with, so it is recomputed when the accuracy changes.
+     * Errors such as a division by zero are not cached and surface on every evaluation, as they did before folding.
+     */
+    private static final class Folded extends Node {
+        private final Node body;
+        private volatile Value value;
+        private volatile Double doubleValue;
+
+        Folded(Node body) {
+            this.body = body;
+        }
+
+        @Override
+        BigDecimal eval(Frame frame) {
+            Value v = value;
+            int accuracy = Accuracy.getValue();
+            if (v == null || v.accuracy != accuracy) {
+                v = new Value(accuracy, body.eval(frame));
+                value = v;
+            }
+            return v.value;
+        }
+
+        @Override
+        double evalDouble(Frame frame) {
+            Double v = doubleValue;
+            if (v == null) {
+                v = body.evalDouble(frame);
+                doubleValue = v;
+            }
+            return v;
+        }
+
+        @Override
+        HyperDual evalDual(Frame frame) {
+            return HyperDual.constant(eval(frame));
+        }
+
+        @Override
+        MethodHandle toHandle(boolean primitive) throws ReflectiveOperationException {
+            Class<?> type = primitive ? double.class : BigDecimal.class;
+            return MethodHandles.lookup()
+                    .findVirtual(Folded.class, primitive ? "evalDouble" : "eval", MethodType.methodType(type, Frame.class))
+                    .bindTo(this);
+        }
+
+        @Override
+        void evalDouble(Batch batch, double[] out, int n) {
+            Arrays.fill(out, 0, n, evalDouble(null));
+        }
+
+        @Override
+        public String toString() {
+            return body.toString();
+        }
+
+        /**
+         * A folded value together with the accuracy it was computed with.
+         */
+        private static final class Value {
+            private final int accuracy;
+            private final BigDecimal value;
+
+            Value(int accuracy, BigDecimal value) {
+                this.accuracy = accuracy;
+                this.value = value;
+            }
+        }
+    }
+
+    /**
+     * A subtree used more than once, computed at most once per evaluation and kept in a slot of the frame.
+     */
+    private static final class Shared extends Node {
+        private final int slot;
+        private final Node body;
+
+        Shared(int slot, Node body) {
+            this.slot = slot;
+            this.body = body;
+        }
+
+        @Override
+        BigDecimal eval(Frame frame) {
+            if (frame.isComputed(slot))
+                return frame.load(slot);
+            return frame.store(slot, body.eval(frame));
+        }
+
+        @Override
+        double evalDouble(Frame frame) {
+            if (frame.isComputed(slot))
+                return frame.loadDouble(slot);
+            return frame.storeDouble(slot, body.evalDouble(frame));
+        }
+
+        @Override
+        HyperDual evalDual(Frame frame) {
+            if (frame.isComputed(slot))
+                return frame.loadDual(slot);
+            return frame.storeDual(slot, body.evalDual(frame));
+        }
+
+        @Override
+        MethodHandle toHandle(boolean primitive) throws ReflectiveOperationException {
+            Class<?> type = primitive ? double.class : BigDecimal.class;
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            MethodHandle test = lookup.findVirtual(Frame.class, "isComputed", MethodType.methodType(boolean.class, int.class));
+            MethodHandle load = lookup.findVirtual(Frame.class, primitive ? "loadDouble" : "load", MethodType.methodType(type, int.class));
+            MethodHandle store = lookup.findVirtual(Frame.class, primitive ? "storeDouble" : "store", MethodType.methodType(type, int.class, type));
+            test = MethodHandles.insertArguments(test, 1, slot);
+            load = MethodHandles.insertArguments(load, 1, slot);
+            // store(frame, body(frame)) -> merge the duplicated frame parameters
+            store = MethodHandles.collectArguments(MethodHandles.insertArguments(store, 1, slot), 1, body.toHandle(primitive));
+            store = MethodHandles.permuteArguments(store, MethodType.methodType(type, Frame.class), 0, 0);
+            return MethodHandles.guardWithTest(test, load, store);
+        }
+
+        @Override
+        void evalDouble(Batch batch, double[] out, int n) {
+            double[] values = batch.values[slot];
+            if (!batch.computed[slot]) {
+                body.evalDouble(batch, values, n);
+                batch.computed[slot] = true;
+            }
+            System.arraycopy(values, 0, out, 0, n);
+        }
+
+        @Override
+        public String toString() {
+            return body.toString();
+        }
+    }
+
+    /**
+     * The Optimizer class rewrites a parsed tree into the tree that is evaluated.
+     * <p>
+     * Identical subtrees are first merged into one node, turning the tree into a graph.
+     * The graph is then rebuilt bottom up : a node whose operands are all constant is folded into a {@link Folded} node,
+     * and a node with variables that is used by more than one parent is wrapped into a {@link Shared} node.
+     * </p>
+     */
+    private static final class Optimizer {
+        /**
+         * The merged nodes by their content, children being compared by identity since they are merged first
+         */
+        private final Map<List<Object>, Node> merged = new HashMap<>();
+        private final Map<Node, Integer> parents = new IdentityHashMap<>();
+        private final Map<Node, Node> rebuilt = new IdentityHashMap<>();
+
+        /**
+         * The number of shared subexpressions created
+         */
+        int slots;
+
+        /**
+         * The number of distinct nodes of the optimized tree, a folded subtree counting as one node
+         */
+        int nodes;
+
+        /**
+         * The number of temporary arrays needed by a batch evaluation of the optimized tree
+         */
+        int temps;
+
+        Node optimize(Node tree) {
+            Node root = merge(tree);
+            countParents(root);
+            Node result = rebuild(root);
+            countNodes(result, Collections.newSetFromMap(new IdentityHashMap<>()));
+            temps = countTemps(result, new IdentityHashMap<>());
+            return result;
+        }
+
+        private Node merge(Node node) {
+            List<Object> key;
+            if (node instanceof Constant)
+                key = List.of("c", ((Constant) node).value);
+            else if (node instanceof Variable)
+                key = List.of("v", ((Variable) node).name);
+            else if (node instanceof Unary) {
+                Unary u = (Unary) node;
+                Node operand = merge(u.operand);
+                key = List.of(u.op, operand);
+                if (operand != u.operand)
+                    node = new Unary(u.op, operand);
+            } else {
+                Binary b = (Binary) node;
+                Node left = merge(b.left), right = merge(b.right);
+                key = List.of(b.op, left, right);
+                if (left != b.left || right != b.right)
+                    node = new Binary(b.op, left, right);
+            }
+            Node existing = merged.putIfAbsent(key, node);
+            return existing != null ? existing : node;
+        }
+
+        private void countParents(Node node) {
+            Node[] children;
+            if (node instanceof Unary)
+                children = new Node[]{((Unary) node).operand};
+            else if (node instanceof Binary)
+                children = new Node[]{((Binary) node).left, ((Binary) node).right};
+            else
+                return;
+            for (Node child : children) {
+                // visit each child only the first time it is reached
+                if (parents.merge(child, 1, Integer::sum) == 1)
+                    countParents(child);
+            }
+        }
+
+        private Node rebuild(Node node) {
+            Node result = rebuilt.get(node);
+            if (result != null)
+                return result;
+            if (node instanceof Unary) {
+                Unary u = (Unary) node;
+                Node operand = rebuild(u.operand);
+                result = isConstant(operand) ? new Folded(node) : new Unary(u.op, operand);
+            } else if (node instanceof Binary) {
+                Binary b = (Binary) node;
+                Node left = rebuild(b.left), right = rebuild(b.right);
+                result = isConstant(left) && isConstant(right) ? new Folded(node) : new Binary(b.op, left, right);
+            } else {
+                result = node;
+            }
+            if ((result instanceof Unary || result instanceof Binary) && parents.getOrDefault(node, 0) > 1)
+                result = new Shared(slots++, result);
+            rebuilt.put(node, result);
+            return result;
+        }
+
+        /**
+         * Counts the distinct nodes evaluated by an optimized tree, a folded subtree counting as one node.
+         */
+        private void countNodes(Node node, Set<Node> seen) {
+            if (!seen.add(node))
+                return;
+            if (node instanceof Shared) {
+                countNodes(((Shared) node).body, seen);
+                return;
+            }
+            nodes++;
+            if (node instanceof Unary)
+                countNodes(((Unary) node).operand, seen);
+            else if (node instanceof Binary) {
+                countNodes(((Binary) node).left, seen);
+                countNodes(((Binary) node).right, seen);
+            }
+        }
+
+        /**
+         * Counts the temporary arrays needed at once to evaluate a node in batch, following {@link Binary#evalDouble(Batch, double[], int)}.
+         */
+        private static int countTemps(Node node, Map<Node, Integer> memo) {
+            Integer count = memo.get(node);
+            if (count != null)
+                return count;
+            if (node instanceof Shared)
+                count = countTemps(((Shared) node).body, memo);
+            else if (node instanceof Unary)
+                count = countTemps(((Unary) node).operand, memo);
+            else if (node instanceof Binary) {
+                Binary b = (Binary) node;
+                count = countTemps(b.left, memo);
+                if (!isConstant(b.right))
+                    count = Math.max(count, 1 + countTemps(b.right, memo));
+            } else
+                count = 0;
+            memo.put(node, count);
+            return count;
+        }
+
+        private static boolean isConstant(Node node) {
+            return node instanceof Constant || node instanceof Folded;
+        }
+
+        /**
+         * Returns the number of nodes of a parsed tree.
+         *
+         * @param node The root of the tree.
+         * @return The number of nodes of the tree.
+         */
+        static int size(Node node) {
+            if (node instanceof Unary)
+                return 1 + size(((Unary) node).operand);
+            if (node instanceof Binary)
+                return 1 + size(((Binary) node).left) + size(((Binary) node).right);
+            return 1;
+        }
+    }
+
+    /**
+     * The Differentiator class builds derivative trees with the usual differentiation rules.
+     * <p>
+     * Nodes are created through small simplifying constructors, which drop additions of zero and multiplications by
+     * zero or one, fold exact arithmetic between constants and merge constant factors, so the derivatives of
+     * higher rank stay close to what would be written by hand.
+     * </p>
+     */
+    private static final class Differentiator {
+        private static final Constant ZERO = new Constant(BigDecimal.ZERO);
+        private static final Constant ONE = new Constant(BigDecimal.ONE);
+        private static final Constant TWO = new Constant(BigDecimal.valueOf(2));
+
+        /**
+         * Returns the derivative of a node with respect to the given variable.
+         *
+         * @param node     The node to differentiate.
+         * @param variable The variable, 'x' or 'y'.
+         * @return The simplified derivative.
+         */
+        static Node derive(Node node, char variable) {
+            if (node instanceof Constant)
+                return ZERO;
+            if (node instanceof Variable)
+                return ((Variable) node).name == variable ? ONE : ZERO;
+            if (node instanceof Unary) {
+                Unary u = (Unary) node;
+                Node a = u.operand;
+                Node da = derive(a, variable);
+                if (isZero(da))
+                    return ZERO;
+                switch (u.op) {
+                    case NEG:
+                        return neg(da);
+                    case LOG:
+                        return div(da, a);
+                    case SQRT:
+                        return div(da, mul(TWO, node));
+                    case EXP:
+                        return mul(node, da);
+                    case SIN:
+                        return mul(fn(Operator.COS, a), da);
+                    case COS:
+                        return neg(mul(fn(Operator.SIN, a), da));
+                    case TAN:
+                        return div(da, pow(fn(Operator.COS, a), TWO));
+                    case ASIN:
+                        return div(da, fn(Operator.SQRT, sub(ONE, pow(a, TWO))));
+                    case ACOS:
+                        return neg(div(da, fn(Operator.SQRT, sub(ONE, pow(a, TWO)))));
+                    case ATAN:
+                        return div(da, add(ONE, pow(a, TWO)));
+                    case SINH:
+                        return mul(fn(Operator.COSH, a), da);
+                    case COSH:
+                        return mul(fn(Operator.SINH, a), da);
+                    case TANH:
+                        return div(da, pow(fn(Operator.COSH, a), TWO));
+                }
+                throw new IllegalStateException("no derivative for " + u.op);
+            }
+            Binary b = (Binary) node;
+            Node l = b.left, r = b.right;
+            Node dl = derive(l, variable), dr = derive(r, variable);
+            switch (b.op) {
+                case ADD:
+                    return add(dl, dr);
+                case SUB:
+                    return sub(dl, dr);
+                case MUL:
+                    return add(mul(dl, r), mul(l, dr));
+                case DIV:
+                    if (isZero(dr))
+                        return div(dl, r);
+                    return div(sub(mul(dl, r), mul(l, dr)), pow(r, TWO));
+                case POW:
+                    // constant exponent : r * l^(r-1) * l'
+                    if (isZero(dr))
+                        return mul(mul(r, pow(l, sub(r, ONE))), dl);
+                    // constant base : l^r * ln(l) * r'
+                    if (isZero(dl))
+                        return mul(mul(node, fn(Operator.LOG, l)), dr);
+                    // l^r * (r' * ln(l) + r * l' / l)
+                    return mul(node, add(mul(dr, fn(Operator.LOG, l)), div(mul(r, dl), l)));
+            }
+            throw new IllegalStateException("no derivative for " + b.op);
+        }
+
+        static Node add(Node a, Node b) {
+            if (isZero(a))
+                return b;
+            if (isZero(b))
+                return a;
+            if (a instanceof Constant && b instanceof Constant)
+                return new Constant(((Constant) a).value.add(((Constant) b).value));
+            if (b instanceof Unary && ((Unary) b).op == Operator.NEG)
+                return sub(a, ((Unary) b).operand);
+            return new Binary(Operator.ADD, a, b);
+        }
+
+        static Node sub(Node a, Node b) {
+            if (isZero(b))
+                return a;
+            if (isZero(a))
+                return neg(b);
+            if (a instanceof Constant && b instanceof Constant)
+                return new Constant(((Constant) a).value.subtract(((Constant) b).value));
+            return new Binary(Operator.SUB, a, b);
+        }
+
+        static Node mul(Node a, Node b) {
+            if (isZero(a) || isZero(b))
+                return ZERO;
+            if (isOne(a))
+                return b;
+            if (isOne(b))
+                return a;
+            // keep constant factors on the left
+            if (b instanceof Constant && !(a instanceof Constant))
+                return mul(b, a);
+            if (a instanceof Constant) {
+                BigDecimal c = ((Constant) a).value;
+                if (b instanceof Constant)
+                    return new Constant(c.multiply(((Constant) b).value));
+                if (c.compareTo(BigDecimal.ONE.negate()) == 0)
+                    return neg(b);
+                // c * (k * e) -> (c * k) * e
+                if (b instanceof Binary && ((Binary) b).op == Operator.MUL && ((Binary) b).left instanceof Constant)
+                    return mul(new Constant(c.multiply(((Constant) ((Binary) b).left).value)), ((Binary) b).right);
+            }
+            if (a instanceof Unary && ((Unary) a).op == Operator.NEG)
+                return neg(mul(((Unary) a).operand, b));
+            if (b instanceof Unary && ((Unary) b).op == Operator.NEG)
+                return neg(mul(a, ((Unary) b).operand));
+            return new Binary(Operator.MUL, a, b);
+        }
+
+        static Node div(Node a, Node b) {
+            if (isZero(a))
+                return ZERO;
+            if (isOne(b))
+                return a;
+            if (a instanceof Unary && ((Unary) a).op == Operator.NEG)
+                return neg(div(((Unary) a).operand, b));
+            return new Binary(Operator.DIV, a, b);
+        }
+
+        static Node pow(Node a, Node b) {
+            if (isZero(b))
+                return ONE;
+            if (isOne(b))
+                return a;
+            return new Binary(Operator.POW, a, b);
+        }
+
+        static Node neg(Node a) {
+            if (a instanceof Constant)
+                return new Constant(((Constant) a).value.negate());
+            if (a instanceof Unary && ((Unary) a).op == Operator.NEG)
+                return ((Unary) a).operand;
+            return new Unary(Operator.NEG, a);
+        }
+
+        static Node fn(Operator op, Node a) {
+            return new Unary(op, a);
+        }
+
+        private static boolean isZero(Node node) {
+            return node instanceof Constant && ((Constant) node).value.signum() == 0;
+        }
+
+        private static boolean isOne(Node node) {
+            return node instanceof Constant && ((Constant) node).value.compareTo(BigDecimal.ONE) == 0;
+        }
+    }
+
+    /**
+     * The Parser class turns the source text into an expression tree using recursive descent.
+     * <p>
+     * Precedence from lowest to highest is : {@code + -}, {@code * /}, unary minus, {@code ^}, functions.
+     * {@code ^} is right associative and the other binary operators are left associative, as in {@link EvaluateString}.
+     * </p>
+     */
+    private static final class Parser {
+        private final String text;
+        private int pos;
+
+        Parser(String text) {
+            this.text = text;
+        }
+
+        Node parse() {
+            if (text.isEmpty())
+                throw new IllegalArgumentException("expression cannot be empty");
+            Node node = parseSum();
+            if (pos != text.length())
+                throw new IllegalArgumentException("unexpected '" + text.charAt(pos) + "' at " + pos);
+            return node;
+        }
+
+        private Node parseSum() {
+            Node node = parseProduct();
+            while (pos < text.length() && (peek() == '+' || peek() == '-')) {
+                Operator op = Operator.of(String.valueOf(text.charAt(pos++)));
+                node = new Binary(op, node, parseProduct());
+            }
+            return node;
+        }
+
+        private Node parseProduct() {
+            Node node = parseSigned();
+            while (pos < text.length() && (peek() == '*' || peek() == '/')) {
+                Operator op = Operator.of(String.valueOf(text.charAt(pos++)));
+                node = new Binary(op, node, parseSigned());
+            }
+            return node;
+        }
+
+        private Node parseSigned() {
+            if (pos < text.length() && peek() == '-') {
+                pos++;
+                return new Unary(Operator.NEG, parseSigned());
+            }
+            return parsePower();
+        }
+
+        private Node parsePower() {
+            Node node = parsePrimary();
+            if (pos < text.length() && peek() == '^') {
+                pos++;
+                // right associative, and allow a signed exponent such as x^-1
+                if (pos < text.length() && peek() == '-') {
+                    pos++;
+                    return new Binary(Operator.POW, node, new Unary(Operator.NEG, parsePower()));
+                }
+                return new Binary(Operator.POW, node, parsePower());
+            }
+            return node;
+        }
+
+        private Node parsePrimary() {
+            if (pos >= text.length())
+                throw new IllegalArgumentException("unexpected end of expression");
+            char c = peek();
+            // parenthesized sub expression
+            if (c == '(') {
+                pos++;
+                Node node = parseSum();
+                if (pos >= text.length() || peek() != ')')
+                    throw new IllegalArgumentException("missing ')'");
+                pos++;
+                return node;
+            }
+            // number
+            if (Character.isDigit(c) || c == '.') {
+                int start = pos;
+                while (pos < text.length() && (Character.isDigit(peek()) || peek() == '.'))
+                    pos++;
+                return new Constant(new BigDecimal(text.substring(start, pos)));
+            }
+            // functions
+            for (Operator op : Operator.FUNCTIONS) {
+                if (text.startsWith(op.symbol, pos)) {
+                    pos += op.symbol.length();
+                    Node operand;
+                    if (pos < text.length() && peek() == '-') {
+                        pos++;
+                        operand = new Unary(Operator.NEG, parsePrimary());
+                    } else {
+                        operand = parsePrimary();
+                    }
+                    return new Unary(op, operand);
+                }
+            }
+            // constants and variables
+            if (text.startsWith("pi", pos)) {
+                pos += 2;
+                return new Constant(PI);
+            }
+            if (c == 'x' || c == 'y') {
+                pos++;
+                return new Variable(c);
+            }
+            throw new IllegalArgumentException("unexpected '" + c + "' at " + pos);
+        }
+
+        private char peek() {
+            return text.charAt(pos);
+        }
+    }
+}
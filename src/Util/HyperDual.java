@@ -0,0 +1,211 @@
+package Util;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Objects;
+
+/**
+ * The HyperDual class represents a number together with its first and second derivatives with respect to one variable,
+ * that is the truncated Taylor expansion f + f' e + f'' e^2 / 2 of forward mode automatic differentiation.
+ * <p>
+ * Evaluating an expression on HyperDual numbers with {@link CompiledExpression#evaluateDual(HyperDual, HyperDual)}
+ * gives f(x), f'(x) and f''(x) in a single pass, exact up to the rounding of the arithmetic,
+ * without building a derivative expression.
+ * </p>
+ *
+ * <p>Usage Example:</p>
+ * <pre>{@code
+ * HyperDual x = HyperDual.variable(new BigDecimal("1.5"));
+ * HyperDual res = x.multiply(x).add(x);   // x^2 + x
+ * BigDecimal value = res.getValue();      // 3.75
+ * BigDecimal diff = res.getFirst();       // 4.0
+ * BigDecimal diff2 = res.getSecond();     // 2
+ * }</pre>
+ */
+@SuppressWarnings("all")
+public final class HyperDual {
+
+    private static final BigDecimal ZERO = new BigDecimal(0);
+    private static final BigDecimal TWO = new BigDecimal(2);
+
+    /**
+     * The value f
+     */
+    private final BigDecimal value;
+
+    /**
+     * The first derivative f'
+     */
+    private final BigDecimal first;
+
+    /**
+     * The second derivative f''
+     */
+    private final BigDecimal second;
+
+    /**
+     * Constructs a HyperDual from a value and its first and second derivatives.
+     *
+     * @param value  The value.
+     * @param first  The first derivative.
+     * @param second The second derivative.
+     */
+    public HyperDual(BigDecimal value, BigDecimal first, BigDecimal second) {
+        this.value = Objects.requireNonNull(value, "value cannot be null");
+        this.first = Objects.requireNonNull(first, "first cannot be null");
+        this.second = Objects.requireNonNull(second, "second cannot be null");
+    }
+
+    /**
+     * Returns a constant, whose derivatives are zero.
+     *
+     * @param value The value of the constant.
+     * @return The constant as a HyperDual.
+     */
+    public static HyperDual constant(BigDecimal value) {
+        return new HyperDual(value, ZERO, ZERO);
+    }
+
+    /**
+     * Returns the variable of differentiation at the given value, whose first derivative is one.
+     *
+     * @param value The value of the variable.
+     * @return The variable as a HyperDual.
+     */
+    public static HyperDual variable(BigDecimal value) {
+        return new HyperDual(value, BigDecimal.ONE, ZERO);
+    }
+
+    /**
+     * Returns the value f.
+     *
+     * @return The value.
+     */
+    public BigDecimal getValue() {
+        return value;
+    }
+
+    /**
+     * Returns the first derivative f'.
+     *
+     * @return The first derivative.
+     */
+    public BigDecimal getFirst() {
+        return first;
+    }
+
+    /**
+     * Returns the second derivative f''.
+     *
+     * @return The second derivative.
+     */
+    public BigDecimal getSecond() {
+        return second;
+    }
+
+    /**
+     * Checks if both derivatives are zero.
+     *
+     * @return True if this is a constant, false otherwise.
+     */
+    public boolean isConstant() {
+        return first.signum() == 0 && second.signum() == 0;
+    }
+
+    /**
+     * Returns the sum of this and b.
+     *
+     * @param b The other term.
+     * @return The sum.
+     */
+    public HyperDual add(HyperDual b) {
+        return new HyperDual(value.add(b.value), first.add(b.first), second.add(b.second));
+    }
+
+    /**
+     * Returns the difference of this and b.
+     *
+     * @param b The subtracted term.
+     * @return The difference.
+     */
+    public HyperDual subtract(HyperDual b) {
+        return new HyperDual(value.subtract(b.value), first.subtract(b.first), second.subtract(b.second));
+    }
+
+    /**
+     * Returns the opposite of this number.
+     *
+     * @return The opposite.
+     */
+    public HyperDual negate() {
+        return new HyperDual(value.negate(), first.negate(), second.negate());
+    }
+
+    /**
+     * Returns the product of this and b : (ab, a'b + ab', a''b + 2a'b' + ab'').
+     *
+     * @param b The other factor.
+     * @return The product.
+     */
+    public HyperDual multiply(HyperDual b) {
+        return new HyperDual(
+                value.multiply(b.value),
+                first.multiply(b.value).add(value.multiply(b.first)),
+                second.multiply(b.value).add(TWO.multiply(first).multiply(b.first)).add(value.multiply(b.second)));
+    }
+
+    /**
+     * Returns the quotient q of this and b, from q = a / b, q' = (a' - q b') / b and q'' = (a'' - 2 q' b' - q b'') / b.
+     *
+     * @param b The divisor.
+     * @return The quotient.
+     * @throws UnsupportedOperationException If the value of b is zero.
+     */
+    public HyperDual divide(HyperDual b) {
+        if (b.value.compareTo(ZERO) == 0)
+            throw new UnsupportedOperationException("Cannot divide by zero");
+        BigDecimal q = div(value, b.value);
+        BigDecimal q1 = div(first.subtract(q.multiply(b.first)), b.value);
+        BigDecimal q2 = div(second.subtract(TWO.multiply(q1).multiply(b.first)).subtract(q.multiply(b.second)), b.value);
+        return new HyperDual(q, q1, q2);
+    }
+
+    /**
+     * Applies a function g on this number by the chain rule, from the value and the first two derivatives of g at the value of this number :
+     * (g, g' a', g'' a'^2 + g' a'').
+     *
+     * @param g   The value of g at the value of this number.
+     * @param dg  The first derivative of g at the value of this number.
+     * @param d2g The second derivative of g at the value of this number.
+     * @return The composition g(this).
+     */
+    public HyperDual chain(BigDecimal g, BigDecimal dg, BigDecimal d2g) {
+        return new HyperDual(
+                g,
+                dg.multiply(first),
+                d2g.multiply(first).multiply(first).add(dg.multiply(second)));
+    }
+
+    /**
+     * Divides a by b with the scale used by the numerical methods.
+     *
+     * @param a The dividend.
+     * @param b The divisor.
+     * @return a / b.
+     */
+    static BigDecimal div(BigDecimal a, BigDecimal b) {
+        if (b.compareTo(ZERO) == 0)
+            throw new UnsupportedOperationException("Cannot divide by zero");
+        return a.divide(b, Accuracy.getValue() + 3, RoundingMode.HALF_UP);
+    }
+
+    /**
+     * Returns the string representation of the number as (f, f', f'').
+     *
+     * @return The string representation of the number.
+     */
+    @Override
+    public String toString() {
+        return "(" + value.toPlainString() + ", " + first.toPlainString() + ", " + second.toPlainString() + ")";
+    }
+}
@@ -393,6 +393,52 @@ public class Matrix {
         return solution;
     }
 
+    /**
+     * Solves a tridiagonal system of linear equations using the <b>Thomas algorithm</b>, in O(n) operations
+     * instead of the O(n^3) of {@link #solve()}.
+     * <p>
+     * The equation i is : a[i] * x[i-1] + b[i] * x[i] + c[i] * x[i+1] = d[i], where a[0] and c[n-1] are not used.
+     * No pivoting is done, which is stable for diagonally dominant systems such as the ones of splines.
+     * </p>
+     *
+     * @param a the sub diagonal
+     * @param b the main diagonal
+     * @param c the super diagonal
+     * @param d the right hand side
+     * @return an ArrayList of solutions to the system of equations, or null if a zero pivot is met
+     * @throws ArithmeticException if a list is null or the sizes of the lists mismatch
+     */
+    public static ArrayList<BigDecimal> solveTridiagonal(ArrayList<BigDecimal> a, ArrayList<BigDecimal> b, ArrayList<BigDecimal> c, ArrayList<BigDecimal> d) {
+        if (a == null || b == null || c == null || d == null)
+            throw new ArithmeticException("invalid inputs : diagonals cannot be null");
+        int n = b.size();
+        if (a.size() != n || c.size() != n || d.size() != n)
+            throw new ArithmeticException("invalid inputs : sizes of diagonals mismatch");
+        int scale = Accuracy.getValue() + 3;
+        // forward sweep : eliminate the sub diagonal, normalizing every row on its pivot
+        BigDecimal[] cp = new BigDecimal[n];
+        BigDecimal[] dp = new BigDecimal[n];
+        for (int i = 0; i < n; i++) {
+            BigDecimal pivot = b.get(i);
+            BigDecimal rhs = d.get(i);
+            if (i > 0) {
+                pivot = pivot.subtract(a.get(i).multiply(cp[i - 1]));
+                rhs = rhs.subtract(a.get(i).multiply(dp[i - 1]));
+            }
+            if (pivot.signum() == 0)
+                return null;
+            cp[i] = i < n - 1 ? c.get(i).divide(pivot, scale, RoundingMode.HALF_UP) : new BigDecimal(0);
+            dp[i] = rhs.divide(pivot, scale, RoundingMode.HALF_UP);
+        }
+        // back substitution
+        BigDecimal[] x = new BigDecimal[n];
+        for (int i = n - 1; i >= 0; i--)
+            x[i] = i < n - 1 ? dp[i].subtract(cp[i].multiply(x[i + 1])).setScale(scale, RoundingMode.HALF_UP) : dp[i];
+        ArrayList<BigDecimal> solution = new ArrayList<>(n);
+        Collections.addAll(solution, x);
+        return solution;
+    }
+
     /**
      * Returns a <b>Vandermonde</b> matrix of the given x values.
      *